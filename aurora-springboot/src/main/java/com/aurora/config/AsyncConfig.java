@@ -6,6 +6,10 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.aurora.constant.CommonConstant.ASYNC_TIMEOUT;
+
 @EnableAsync
 @Configuration
 public class AsyncConfig {
@@ -20,4 +24,22 @@ public class AsyncConfig {
         executor.setThreadNamePrefix("async-task-thread-");
         return executor;
     }
+
+    /**
+     * 服务层 CompletableFuture 并发查询专用线程池，最大线程数低于 Hikari 连接池上限（100），
+     * 队列满时由调用线程执行，避免阻塞的 JDBC 调用占满 ForkJoinPool 公共池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor ioExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(20);
+        executor.setMaxPoolSize(50);
+        executor.setQueueCapacity(100);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("io-task-thread-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(ASYNC_TIMEOUT);
+        return executor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.aurora.config;
+
+import com.alibaba.fastjson.JSON;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 紧凑格式的 redis 序列化器：注册过的类型写成 魔数 + 类型编号 + 不带类名的 JSON，
+ * 读取时没有魔数的数据交给原有的序列化器处理，新旧两种格式可以同时存在
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte MAGIC = (byte) 0xC1;
+
+    private static final int HEADER_LENGTH = 2;
+
+    private final Map<Class<?>, Byte> typeIds = new HashMap<>();
+
+    private final Map<Byte, Class<?>> types = new HashMap<>();
+
+    private final RedisSerializer<Object> fallbackSerializer;
+
+    public CompactRedisSerializer(RedisSerializer<Object> fallbackSerializer) {
+        this.fallbackSerializer = fallbackSerializer;
+    }
+
+    /**
+     * 注册类型，编号写入 redis 后不可再修改或复用
+     * @param typeId 类型编号
+     * @param type 类型
+     * @return CompactRedisSerializer
+     */
+    public CompactRedisSerializer register(byte typeId, Class<?> type) {
+        if (types.containsKey(typeId) || typeIds.containsKey(type)) {
+            throw new IllegalArgumentException("重复注册的类型：" + typeId + "，" + type.getName());
+        }
+        typeIds.put(type, typeId);
+        types.put(typeId, type);
+        return this;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (Objects.isNull(value)) {
+            return new byte[0];
+        }
+        Byte typeId = typeIds.get(value.getClass());
+        if (Objects.isNull(typeId)) {
+            return fallbackSerializer.serialize(value);
+        }
+        byte[] payload = JSON.toJSONBytes(value);
+        byte[] bytes = new byte[payload.length + HEADER_LENGTH];
+        bytes[0] = MAGIC;
+        bytes[1] = typeId;
+        System.arraycopy(payload, 0, bytes, HEADER_LENGTH, payload.length);
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (Objects.isNull(bytes) || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == MAGIC && bytes.length >= HEADER_LENGTH) {
+            Class<?> type = types.get(bytes[1]);
+            if (Objects.isNull(type)) {
+                throw new SerializationException("未注册的类型编号：" + bytes[1]);
+            }
+            return JSON.parseObject(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, StandardCharsets.UTF_8, type);
+        }
+        return fallbackSerializer.deserialize(bytes);
+    }
+
+}
@@ -1,5 +1,11 @@
 package com.aurora.config;
 
+import com.aurora.listener.ArticleCacheChangeListener;
+import com.aurora.listener.ArticleVersionChangeListener;
+import com.aurora.listener.ConfigChangeListener;
+import com.aurora.listener.LoginUserChangeListener;
+import com.aurora.listener.ResourceRoleChangeListener;
+import com.aurora.model.dto.UserDetailsDTO;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
@@ -7,27 +13,73 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import static com.aurora.constant.RedisConstant.ARTICLE_CACHE_CHANNEL;
+import static com.aurora.constant.RedisConstant.ARTICLE_VERSION_CHANNEL;
+import static com.aurora.constant.RedisConstant.CONFIG_CHANNEL;
+import static com.aurora.constant.RedisConstant.LOGIN_USER_CHANNEL;
+import static com.aurora.constant.RedisConstant.RESOURCE_ROLE_CHANNEL;
+
 @Configuration
 public class RedisConfig {
 
+    private static final byte USER_DETAILS_TYPE_ID = 1;
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
+        return createRedisTemplate(factory, jackson2JsonRedisSerializer());
+    }
+
+    /**
+     * 值使用紧凑格式的 RedisTemplate，由 RedisService 按 key 前缀选用，读取时兼容原有的 JSON 格式
+     */
+    @Bean
+    public RedisTemplate<String, Object> compactRedisTemplate(RedisConnectionFactory factory) {
+        CompactRedisSerializer compactRedisSerializer = new CompactRedisSerializer(jackson2JsonRedisSerializer())
+                .register(USER_DETAILS_TYPE_ID, UserDetailsDTO.class);
+        return createRedisTemplate(factory, compactRedisSerializer);
+    }
+
+    private RedisTemplate<String, Object> createRedisTemplate(RedisConnectionFactory factory, RedisSerializer<Object> valueSerializer) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(factory);
-        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
-        jackson2JsonRedisSerializer.setObjectMapper(mapper);
         StringRedisSerializer stringRedisSerializer = new StringRedisSerializer();
         redisTemplate.setKeySerializer(stringRedisSerializer);
         redisTemplate.setHashKeySerializer(stringRedisSerializer);
-        redisTemplate.setValueSerializer(jackson2JsonRedisSerializer);
-        redisTemplate.setHashValueSerializer(jackson2JsonRedisSerializer);
+        redisTemplate.setValueSerializer(valueSerializer);
+        redisTemplate.setHashValueSerializer(valueSerializer);
         redisTemplate.afterPropertiesSet();
         return redisTemplate;
     }
 
+    private Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer() {
+        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        jackson2JsonRedisSerializer.setObjectMapper(mapper);
+        return jackson2JsonRedisSerializer;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory,
+                                                                       ConfigChangeListener configChangeListener,
+                                                                       ResourceRoleChangeListener resourceRoleChangeListener,
+                                                                       LoginUserChangeListener loginUserChangeListener,
+                                                                       ArticleVersionChangeListener articleVersionChangeListener,
+                                                                       ArticleCacheChangeListener articleCacheChangeListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(configChangeListener, new ChannelTopic(CONFIG_CHANNEL));
+        container.addMessageListener(resourceRoleChangeListener, new ChannelTopic(RESOURCE_ROLE_CHANNEL));
+        container.addMessageListener(loginUserChangeListener, new ChannelTopic(LOGIN_USER_CHANNEL));
+        container.addMessageListener(articleVersionChangeListener, new ChannelTopic(ARTICLE_VERSION_CHANNEL));
+        container.addMessageListener(articleCacheChangeListener, new ChannelTopic(ARTICLE_CACHE_CHANNEL));
+        return container;
+    }
+
 }
@@ -2,8 +2,6 @@ package com.aurora.constant;
 
 public interface AuthConstant {
 
-    int TWENTY_MINUTES = 20;
-
     int EXPIRE_TIME = 7 * 24 * 60 * 60;
 
     String TOKEN_HEADER = "Authorization";
@@ -16,6 +16,8 @@ public interface CommonConstant {
 
     int DEFAULT_ABOUT_ID = 1;
 
+    int ASYNC_TIMEOUT = 10;
+
     String PRE_TAG = "<mark>";
 
     String POST_TAG = "</mark>";
@@ -26,6 +28,20 @@ public interface CommonConstant {
 
     String DEFAULT_SIZE = "10";
 
+    long MAX_SEARCH_SIZE = 50;
+
+    String LAST_ID = "lastId";
+
+    String LAST_CREATE_TIME = "lastCreateTime";
+
+    String ARTICLE_COUNT_KEY = "articles";
+
+    String ARCHIVE_COUNT_KEY = "archives";
+
+    String CATEGORY_ARTICLE_COUNT_KEY = "category:";
+
+    String TAG_ARTICLE_COUNT_KEY = "tag:";
+
     String DEFAULT_NICKNAME = "用户";
 
     String COMPONENT = "Layout";
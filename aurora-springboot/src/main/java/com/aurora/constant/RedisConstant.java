@@ -18,10 +18,46 @@ public interface RedisConstant {
 
     String ABOUT = "about";
 
-    String UNIQUE_VISITOR = "unique_visitor";
+    String UNIQUE_VISITOR = "unique_visitor:";
 
-    String LOGIN_USER = "login_user";
+    long UNIQUE_VISITOR_EXPIRE_TIME = 7 * 24 * 60 * 60;
+
+    String UNIQUE_VISITOR_WEEK = "unique_visitor_week:";
+
+    long UNIQUE_VISITOR_WEEK_EXPIRE_TIME = 8 * 7 * 24 * 60 * 60;
+
+    String UNIQUE_VISITOR_MONTH = "unique_visitor_month:";
+
+    long UNIQUE_VISITOR_MONTH_EXPIRE_TIME = 13 * 31 * 24 * 60 * 60;
+
+    String ARTICLE_UNIQUE_READER = "article_unique_reader:";
+
+    String LOGIN_USER = "login_user:";
+
+    String LOGIN_USER_INDEX = "login_user_index";
+
+    String LEGACY_LOGIN_USER = "login_user";
 
     String ARTICLE_ACCESS = "article_access:";
 
+    String ARTICLE_CACHE = "article_cache:";
+
+    String ARTICLE_CACHE_INDEX = "article_cache_index";
+
+    String ARTICLE_CACHE_VERSION = "article_cache_version";
+
+    long ARTICLE_CACHE_EXPIRE_TIME = 60 * 60;
+
+    String TOP_AND_FEATURED_ARTICLES = "top_and_featured_articles";
+
+    String CONFIG_CHANNEL = "config_channel";
+
+    String RESOURCE_ROLE_CHANNEL = "resource_role_channel";
+
+    String LOGIN_USER_CHANNEL = "login_user_channel";
+
+    String ARTICLE_VERSION_CHANNEL = "article_version_channel";
+
+    String ARTICLE_CACHE_CHANNEL = "article_cache_channel";
+
 }
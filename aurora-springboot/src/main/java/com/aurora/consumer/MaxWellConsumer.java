@@ -4,13 +4,17 @@ import com.alibaba.fastjson.JSON;
 import com.aurora.model.dto.ArticleSearchDTO;
 import com.aurora.model.dto.MaxwellDataDTO;
 import com.aurora.entity.Article;
+import com.aurora.event.ArticleChangeEvent;
 import com.aurora.mapper.ElasticsearchMapper;
 import com.aurora.util.BeanCopyUtil;
 import org.springframework.amqp.rabbit.annotation.RabbitHandler;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+
 import static com.aurora.constant.RabbitMQConstant.MAXWELL_QUEUE;
 
 @Component
@@ -20,6 +24,9 @@ public class MaxWellConsumer {
     @Autowired
     private ElasticsearchMapper elasticsearchMapper;
 
+    @Autowired
+    private ApplicationContext applicationContext;
+
     @RabbitHandler
     public void process(byte[] data) {
         MaxwellDataDTO maxwellDataDTO = JSON.parseObject(new String(data), MaxwellDataDTO.class);
@@ -33,7 +40,10 @@ public class MaxWellConsumer {
                 elasticsearchMapper.deleteById(article.getId());
                 break;
             default:
-                break;
+                return;
         }
+        // 文档可被检索后再推进搜索缓存版本，否则其他节点可能按新版本缓存到旧结果
+        elasticsearchMapper.refresh();
+        applicationContext.publishEvent(new ArticleChangeEvent(Collections.singletonList(article.getId())));
     }
 }
\ No newline at end of file
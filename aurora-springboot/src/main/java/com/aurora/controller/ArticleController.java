@@ -76,6 +76,12 @@ public class ArticleController {
         return ResultVO.ok(articleService.listArchives());
     }
 
+    @ApiOperation("获取单月文章归档")
+    @GetMapping("/archives/{yearMonth}")
+    public ResultVO<ArchiveDTO> getArchiveByYearMonth(@PathVariable("yearMonth") Integer yearMonth) {
+        return ResultVO.ok(articleService.getArchiveByYearMonth(yearMonth));
+    }
+
     @ApiOperation("获取后台文章")
     @GetMapping("/admin/articles")
     public ResultVO<PageResultDTO<ArticleAdminDTO>> listArticlesAdmin(ConditionVO conditionVO) {
@@ -146,8 +152,14 @@ public class ArticleController {
 
     @ApiOperation(value = "搜索文章")
     @GetMapping("/articles/search")
-    public ResultVO<List<ArticleSearchDTO>> listArticlesBySearch(ConditionVO condition) {
+    public ResultVO<PageResultDTO<ArticleSearchDTO>> listArticlesBySearch(ConditionVO condition) {
         return ResultVO.ok(articleService.listArticlesBySearch(condition));
     }
 
+    @ApiOperation(value = "获取搜索缓存统计")
+    @GetMapping("/admin/search/cache")
+    public ResultVO<SearchCacheStatsDTO> getSearchCacheStats() {
+        return ResultVO.ok(articleService.getSearchCacheStats());
+    }
+
 }
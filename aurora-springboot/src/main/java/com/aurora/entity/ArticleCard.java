@@ -0,0 +1,55 @@
+package com.aurora.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("t_article_card")
+public class ArticleCard {
+
+    @TableId(value = "id", type = IdType.INPUT)
+    private Integer id;
+
+    private Integer userId;
+
+    private Integer categoryId;
+
+    private String articleCover;
+
+    private String articleTitle;
+
+    private String articleExcerpt;
+
+    private Integer isTop;
+
+    private Integer isFeatured;
+
+    private Integer isDelete;
+
+    private Integer status;
+
+    private String categoryName;
+
+    private String authorNickname;
+
+    private String authorWebsite;
+
+    private String authorAvatar;
+
+    private String tagNames;
+
+    private LocalDateTime createTime;
+
+    private LocalDateTime updateTime;
+
+}
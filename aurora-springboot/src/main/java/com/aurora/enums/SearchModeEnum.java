@@ -9,7 +9,11 @@ public enum SearchModeEnum {
 
     MYSQL("mysql", "mySqlSearchStrategyImpl"),
 
-    ELASTICSEARCH("elasticsearch", "esSearchStrategyImpl");
+    ELASTICSEARCH("elasticsearch", "esSearchStrategyImpl"),
+
+    MEMORY("memory", "memorySearchStrategyImpl"),
+
+    FULLTEXT("fulltext", "fullTextSearchStrategyImpl");
 
     private final String mode;
 
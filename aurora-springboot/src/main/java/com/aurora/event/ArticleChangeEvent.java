@@ -0,0 +1,12 @@
+package com.aurora.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.List;
+
+public class ArticleChangeEvent extends ApplicationEvent {
+
+    public ArticleChangeEvent(List<Integer> articleIds) {
+        super(articleIds);
+    }
+}
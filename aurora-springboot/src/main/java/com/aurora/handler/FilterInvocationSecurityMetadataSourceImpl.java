@@ -1,20 +1,26 @@
 package com.aurora.handler;
 
-import com.aurora.model.dto.ResourceRoleDTO;
 import com.aurora.mapper.RoleMapper;
-import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.aurora.service.RedisService;
+import com.aurora.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.access.ConfigAttribute;
-import org.springframework.security.access.SecurityConfig;
 import org.springframework.security.web.FilterInvocation;
 import org.springframework.security.web.access.intercept.FilterInvocationSecurityMetadataSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
-import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.aurora.constant.RedisConstant.RESOURCE_ROLE_CHANNEL;
+
+@Slf4j
 @Component
 public class FilterInvocationSecurityMetadataSourceImpl implements FilterInvocationSecurityMetadataSource {
 
@@ -22,18 +28,93 @@ public class FilterInvocationSecurityMetadataSourceImpl implements FilterInvocat
     @Autowired
     private RoleMapper roleMapper;
 
-    private static List<ResourceRoleDTO> resourceRoleList;
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    @Qualifier("ioExecutor")
+    private Executor ioExecutor;
+
+    /**
+     * 当前实例的标识，随变更通知发出，用于忽略自己发出的消息
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * 当前生效的快照，重新加载期间请求继续使用旧快照
+     */
+    private volatile ResourceRoleSnapshot snapshot;
 
     /**
-     * 结合 t_resource、 t_role_resource、 t_role 三张表查询 resource 和 role 相关信息
+     * 期望的版本号，每次收到变更通知加一，快照版本落后时需要重新加载
+     */
+    private final AtomicLong requestedVersion = new AtomicLong();
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    /**
+     * 结合 t_resource、 t_role_resource、 t_role 三张表查询 resource 和 role 相关信息，编译成匹配树
      */
     @PostConstruct
     private void loadResourceRoleList() {
-        resourceRoleList = roleMapper.listResourceRoles();
+        snapshot = new ResourceRoleSnapshot(requestedVersion.get(), new ResourceRoleMatcher(roleMapper.listResourceRoles()));
     }
 
+    /**
+     * 资源或角色变更后，在事务提交之后立即重新加载当前实例，并通知其他实例重新加载
+     */
     public void clearDataSource() {
-        resourceRoleList = null;
+        TransactionUtil.runAfterCommit(() -> {
+            refresh();
+            redisService.convertAndSend(RESOURCE_ROLE_CHANNEL, instanceId);
+        });
+    }
+
+    /**
+     * 处理 redis 变更频道的消息，当前实例发出的消息已在本地处理过，直接忽略
+     * @param publisherId 发出消息的实例标识
+     */
+    public void onResourceRoleChange(String publisherId) {
+        if (!instanceId.equals(publisherId)) {
+            refresh();
+        }
+    }
+
+    /**
+     * 标记当前快照过期并在后台重新加载
+     */
+    public void refresh() {
+        requestedVersion.incrementAndGet();
+        scheduleReload();
+    }
+
+    /**
+     * 同一时间只有一个加载任务，加载期间到达的变更通知合并到下一轮
+     */
+    private void scheduleReload() {
+        if (reloading.compareAndSet(false, true)) {
+            ioExecutor.execute(this::reload);
+        }
+    }
+
+    private void reload() {
+        boolean success = false;
+        try {
+            long version;
+            do {
+                version = requestedVersion.get();
+                snapshot = new ResourceRoleSnapshot(version, new ResourceRoleMatcher(roleMapper.listResourceRoles()));
+            } while (version != requestedVersion.get());
+            success = true;
+        } catch (Exception e) {
+            log.error("reload resource role failed", e);
+        } finally {
+            reloading.set(false);
+        }
+        // 退出循环后、释放标记前到达的通知不会再触发加载，这里补一次
+        if (success && snapshot.getVersion() != requestedVersion.get()) {
+            scheduleReload();
+        }
     }
 
     /**
@@ -45,31 +126,16 @@ public class FilterInvocationSecurityMetadataSourceImpl implements FilterInvocat
      */
     @Override
     public Collection<ConfigAttribute> getAttributes(Object object) throws IllegalArgumentException {
-        // 如果 `resourceRoleList` 为空，则从数据库查询
-        if (CollectionUtils.isEmpty(resourceRoleList)) {
-            this.loadResourceRoleList();
-        }
         // FilterInvocation 可以安全拿到 security 里的 request 和其他信息
         FilterInvocation fi = (FilterInvocation) object;
         String method = fi.getRequest().getMethod();
         String url = fi.getRequest().getRequestURI();
-
-        // AntPathMatcher 是可以对路径进行动态匹配的一个工具类
-        AntPathMatcher antPathMatcher = new AntPathMatcher();
-
-        // 判断 resourceRoleList 里是否由与请求的 url 和 method 匹配的数据
-        for (ResourceRoleDTO resourceRoleDTO : resourceRoleList) {
-            if (antPathMatcher.match(resourceRoleDTO.getUrl(), url) && resourceRoleDTO.getRequestMethod().equals(method)) {
-                // 找出匹配数据并封装角色名返回集合
-                List<String> roleList = resourceRoleDTO.getRoleList();
-                if (CollectionUtils.isEmpty(roleList)) {
-                    return SecurityConfig.createList("disable");
-                }
-                // 用 security 的方法创造数组返回
-                return SecurityConfig.createList(roleList.toArray(new String[]{}));
-            }
+        ResourceRoleSnapshot current = snapshot;
+        // 上次加载失败时由后续请求重新触发，本次请求仍使用旧快照
+        if (current.getVersion() != requestedVersion.get()) {
+            scheduleReload();
         }
-        return null;
+        return current.getMatcher().match(method, url);
     }
 
     @Override
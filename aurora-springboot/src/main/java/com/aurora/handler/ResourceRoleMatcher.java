@@ -0,0 +1,296 @@
+package com.aurora.handler;
+
+import com.aurora.model.dto.ResourceRoleDTO;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import org.springframework.security.access.ConfigAttribute;
+import org.springframework.security.access.SecurityConfig;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.*;
+
+/**
+ * 按请求方法将资源路径编译成前缀树，节点分为字面量、单段通配（* 和 {var}）和多段通配（**），
+ * 末尾斜杠的处理与 AntPathMatcher 一致；含有段内通配、以斜杠结尾等写法的路径无法放入树中，仍由 AntPathMatcher 逐个匹配。
+ * 多个资源同时匹配时取加载顺序最靠前的一个，与原先按列表顺序逐个匹配的结果一致，
+ * 每个节点记录子树中最靠前的加载序号，不可能更靠前的分支直接跳过；
+ * 字面量子节点按请求路径中的区间直接查找，树中的匹配过程不创建对象
+ */
+class ResourceRoleMatcher {
+
+    private static final String SEPARATOR = "/";
+
+    private static final String WILDCARD = "*";
+
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Map<String, PathNode> roots = new HashMap<>();
+
+    private final List<ComplexResource> complexResources = new ArrayList<>();
+
+    ResourceRoleMatcher(List<ResourceRoleDTO> resourceRoleList) {
+        for (int order = 0; order < resourceRoleList.size(); order++) {
+            ResourceRoleDTO resourceRoleDTO = resourceRoleList.get(order);
+            Collection<ConfigAttribute> attributes = createAttributes(resourceRoleDTO.getRoleList());
+            String[] segments = tokenize(resourceRoleDTO.getUrl());
+            if (resourceRoleDTO.getUrl().endsWith(SEPARATOR) || Arrays.stream(segments).anyMatch(ResourceRoleMatcher::isComplexSegment)) {
+                complexResources.add(new ComplexResource(order, resourceRoleDTO.getRequestMethod(), resourceRoleDTO.getUrl(), attributes));
+                continue;
+            }
+            PathNode node = roots.computeIfAbsent(resourceRoleDTO.getRequestMethod(), method -> new PathNode());
+            node.minOrder = Math.min(node.minOrder, order);
+            for (String segment : segments) {
+                node = node.child(segment);
+                node.minOrder = Math.min(node.minOrder, order);
+            }
+            // 同一方法、同一路径出现多次时以先加载的为准
+            if (Objects.isNull(node.attributes)) {
+                node.attributes = attributes;
+                node.order = order;
+            }
+        }
+    }
+
+    /**
+     * 查找请求所需的角色
+     * @param method 请求方法
+     * @param url 请求路径
+     * @return 所需角色，未配置的资源返回 null
+     */
+    Collection<ConfigAttribute> match(String method, String url) {
+        PathNode root = roots.get(method);
+        PathNode best = Objects.isNull(root) ? null : match(root, url, skipSeparators(url, 0), false, null);
+        int bestOrder = orderOf(best);
+        for (ComplexResource complexResource : complexResources) {
+            if (complexResource.order >= bestOrder) {
+                break;
+            }
+            if (complexResource.method.equals(method) && ANT_PATH_MATCHER.match(complexResource.url, url)) {
+                return complexResource.attributes;
+            }
+        }
+        return Objects.isNull(best) ? null : best.attributes;
+    }
+
+    /**
+     * 从 start 处的路径段开始匹配，按下标遍历请求路径，不拆分数组；
+     * 与 AntPathMatcher 一致，未经过 ** 时请求路径的末尾斜杠需与资源路径一致，
+     * 只剩一个 * 时可以匹配末尾斜杠后的空段
+     * @param best 目前找到的加载顺序最靠前的节点
+     * @return 加上该子树后加载顺序最靠前的节点
+     */
+    private static PathNode match(PathNode node, String url, int start, boolean afterDoubleWildcard, PathNode best) {
+        if (node.minOrder >= orderOf(best)) {
+            return best;
+        }
+        if (start == url.length()) {
+            boolean trailingSeparator = url.endsWith(SEPARATOR);
+            if (afterDoubleWildcard || !trailingSeparator) {
+                best = better(node, best);
+            } else if (Objects.nonNull(node.wildcardChild)) {
+                best = better(node.wildcardChild, best);
+            }
+        } else {
+            int end = segmentEnd(url, start);
+            int next = skipSeparators(url, end);
+            PathNode literalChild = node.literalChild(url, start, end);
+            if (Objects.nonNull(literalChild)) {
+                best = match(literalChild, url, next, afterDoubleWildcard, best);
+            }
+            if (Objects.nonNull(node.wildcardChild)) {
+                best = match(node.wildcardChild, url, next, afterDoubleWildcard, best);
+            }
+            if (Objects.nonNull(node.variableChild)) {
+                best = match(node.variableChild, url, next, afterDoubleWildcard, best);
+            }
+        }
+        // ** 可以匹配零个或多个路径段
+        if (Objects.nonNull(node.doubleWildcardChild)) {
+            int position = start;
+            while (true) {
+                best = match(node.doubleWildcardChild, url, position, true, best);
+                if (position == url.length()) {
+                    break;
+                }
+                position = skipSeparators(url, segmentEnd(url, position));
+            }
+        }
+        return best;
+    }
+
+    private static PathNode better(PathNode candidate, PathNode best) {
+        return Objects.nonNull(candidate.attributes) && candidate.order < orderOf(best) ? candidate : best;
+    }
+
+    private static int orderOf(PathNode node) {
+        return Objects.isNull(node) ? Integer.MAX_VALUE : node.order;
+    }
+
+    /**
+     * 与 String.hashCode 的计算方式相同，只计算 [start, end) 区间
+     */
+    private static int hash(String text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int segmentEnd(String url, int start) {
+        int end = url.indexOf('/', start);
+        return end < 0 ? url.length() : end;
+    }
+
+    private static int skipSeparators(String url, int position) {
+        while (position < url.length() && url.charAt(position) == '/') {
+            position++;
+        }
+        return position;
+    }
+
+    private static Collection<ConfigAttribute> createAttributes(List<String> roleList) {
+        if (CollectionUtils.isEmpty(roleList)) {
+            return Collections.unmodifiableList(SecurityConfig.createList("disable"));
+        }
+        return Collections.unmodifiableList(SecurityConfig.createList(roleList.toArray(new String[]{})));
+    }
+
+    private static String[] tokenize(String path) {
+        return Arrays.stream(path.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}") && segment.indexOf(':') < 0;
+    }
+
+    private static boolean isComplexSegment(String segment) {
+        if (WILDCARD.equals(segment) || DOUBLE_WILDCARD.equals(segment) || isVariable(segment)) {
+            return false;
+        }
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static class ComplexResource {
+
+        private final int order;
+
+        private final String method;
+
+        private final String url;
+
+        private final Collection<ConfigAttribute> attributes;
+
+        private ComplexResource(int order, String method, String url, Collection<ConfigAttribute> attributes) {
+            this.order = order;
+            this.method = method;
+            this.url = url;
+            this.attributes = attributes;
+        }
+    }
+
+    private static class PathNode {
+
+        /**
+         * 字面量子节点，开放寻址、线性探测，容量为 2 的幂且至少保留一半空位
+         */
+        private String[] literalSegments = new String[2];
+
+        private PathNode[] literalChildren = new PathNode[2];
+
+        private int literalSize;
+
+        private PathNode wildcardChild;
+
+        private PathNode variableChild;
+
+        private PathNode doubleWildcardChild;
+
+        private Collection<ConfigAttribute> attributes;
+
+        /**
+         * 本节点资源的加载序号
+         */
+        private int order = Integer.MAX_VALUE;
+
+        /**
+         * 子树（含本节点）中最靠前的加载序号
+         */
+        private int minOrder = Integer.MAX_VALUE;
+
+        private PathNode child(String segment) {
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                if (Objects.isNull(doubleWildcardChild)) {
+                    doubleWildcardChild = new PathNode();
+                }
+                return doubleWildcardChild;
+            }
+            if (WILDCARD.equals(segment)) {
+                if (Objects.isNull(wildcardChild)) {
+                    wildcardChild = new PathNode();
+                }
+                return wildcardChild;
+            }
+            if (isVariable(segment)) {
+                if (Objects.isNull(variableChild)) {
+                    variableChild = new PathNode();
+                }
+                return variableChild;
+            }
+            PathNode literalChild = literalChild(segment, 0, segment.length());
+            if (Objects.isNull(literalChild)) {
+                literalChild = new PathNode();
+                if ((literalSize + 1) * 2 > literalSegments.length) {
+                    resize();
+                }
+                put(segment, literalChild);
+            }
+            return literalChild;
+        }
+
+        /**
+         * 按 text 的 [start, end) 区间查找字面量子节点
+         */
+        private PathNode literalChild(String text, int start, int end) {
+            int length = end - start;
+            int mask = literalSegments.length - 1;
+            for (int index = hash(text, start, end) & mask; ; index = (index + 1) & mask) {
+                String segment = literalSegments[index];
+                if (Objects.isNull(segment)) {
+                    return null;
+                }
+                if (segment.length() == length && segment.regionMatches(0, text, start, length)) {
+                    return literalChildren[index];
+                }
+            }
+        }
+
+        private void put(String segment, PathNode child) {
+            int mask = literalSegments.length - 1;
+            int index = hash(segment, 0, segment.length()) & mask;
+            while (Objects.nonNull(literalSegments[index])) {
+                index = (index + 1) & mask;
+            }
+            literalSegments[index] = segment;
+            literalChildren[index] = child;
+            literalSize++;
+        }
+
+        private void resize() {
+            String[] segments = literalSegments;
+            PathNode[] children = literalChildren;
+            literalSegments = new String[segments.length * 2];
+            literalChildren = new PathNode[segments.length * 2];
+            literalSize = 0;
+            for (int i = 0; i < segments.length; i++) {
+                if (Objects.nonNull(segments[i])) {
+                    put(segments[i], children[i]);
+                }
+            }
+        }
+    }
+
+}
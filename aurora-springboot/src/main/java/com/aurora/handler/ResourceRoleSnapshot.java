@@ -0,0 +1,17 @@
+package com.aurora.handler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 某一版本资源角色数据编译后的不可变快照
+ */
+@Getter
+@AllArgsConstructor
+class ResourceRoleSnapshot {
+
+    private final long version;
+
+    private final ResourceRoleMatcher matcher;
+
+}
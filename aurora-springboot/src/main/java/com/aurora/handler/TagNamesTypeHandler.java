@@ -0,0 +1,51 @@
+package com.aurora.handler;
+
+import com.alibaba.fastjson.JSON;
+import com.aurora.entity.Tag;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 文章卡片投影表中 tag_names 列（JSON 数组）与 List<Tag> 之间的转换
+ */
+public class TagNamesTypeHandler extends BaseTypeHandler<List<Tag>> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, List<Tag> tags, JdbcType jdbcType) throws SQLException {
+        ps.setString(i, JSON.toJSONString(tags.stream().map(Tag::getTagName).collect(Collectors.toList())));
+    }
+
+    @Override
+    public List<Tag> getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toTags(rs.getString(columnName));
+    }
+
+    @Override
+    public List<Tag> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toTags(rs.getString(columnIndex));
+    }
+
+    @Override
+    public List<Tag> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toTags(cs.getString(columnIndex));
+    }
+
+    private List<Tag> toTags(String tagNames) {
+        if (Objects.isNull(tagNames)) {
+            return new ArrayList<>();
+        }
+        return JSON.parseArray(tagNames, String.class).stream()
+                .map(tagName -> Tag.builder().tagName(tagName).build())
+                .collect(Collectors.toList());
+    }
+
+}
@@ -8,6 +8,8 @@ import org.springframework.web.servlet.HandlerInterceptor;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -21,12 +23,46 @@ public class PaginationInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         String currentPage = request.getParameter(CURRENT);
         String pageSize = Optional.ofNullable(request.getParameter(SIZE)).orElse(DEFAULT_SIZE);
+        Integer lastId = parseLastId(request.getParameter(LAST_ID));
         if (!Objects.isNull(currentPage) && !StringUtils.isEmpty(currentPage)) {
             PageUtil.setCurrentPage(new Page<>(Long.parseLong(currentPage), Long.parseLong(pageSize)));
+        } else if (Objects.nonNull(lastId)) {
+            PageUtil.setCurrentPage(new Page<>(1, Long.parseLong(pageSize)));
+        }
+        if (Objects.nonNull(lastId)) {
+            PageUtil.setCursor(lastId, parseLastCreateTime(request.getParameter(LAST_CREATE_TIME)));
         }
         return true;
     }
 
+    /**
+     * 游标由客户端回传，格式错误时忽略游标，按普通分页查询
+     */
+    private Integer parseLastId(String lastId) {
+        if (StringUtils.isEmpty(lastId)) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(lastId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 创建时间格式错误时只使用 lastId，由查询根据 id 定位上一页的最后一条记录
+     */
+    private LocalDateTime parseLastCreateTime(String lastCreateTime) {
+        if (StringUtils.isEmpty(lastCreateTime)) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(lastCreateTime);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
         PageUtil.remove();
@@ -0,0 +1,20 @@
+package com.aurora.listener;
+
+import com.aurora.service.ArticleCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ArticleCacheChangeListener implements MessageListener {
+
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        articleCacheService.evictLocal();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.aurora.listener;
+
+import com.aurora.strategy.context.SearchStrategyContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ArticleVersionChangeListener implements MessageListener {
+
+    @Autowired
+    private SearchStrategyContext searchStrategyContext;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        searchStrategyContext.evictSearchCache();
+    }
+
+}
@@ -2,14 +2,21 @@ package com.aurora.listener;
 
 import com.aurora.entity.ExceptionLog;
 import com.aurora.entity.OperationLog;
+import com.aurora.event.ArticleChangeEvent;
 import com.aurora.event.ExceptionLogEvent;
 import com.aurora.event.OperationLogEvent;
 import com.aurora.mapper.ExceptionLogMapper;
 import com.aurora.mapper.OperationLogMapper;
+import com.aurora.service.ArticleIndexService;
+import com.aurora.service.ArticleSearchIndexService;
+import com.aurora.strategy.context.SearchStrategyContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
 
 @Component
 public class AuroraListener {
@@ -20,6 +27,15 @@ public class AuroraListener {
     @Autowired
     private ExceptionLogMapper exceptionLogMapper;
 
+    @Autowired
+    private ArticleIndexService articleIndexService;
+
+    @Autowired
+    private ArticleSearchIndexService articleSearchIndexService;
+
+    @Autowired
+    private SearchStrategyContext searchStrategyContext;
+
     @Async
     @EventListener(OperationLogEvent.class)
     public void saveOperationLog(OperationLogEvent operationLogEvent) {
@@ -32,4 +48,20 @@ public class AuroraListener {
         exceptionLogMapper.insert((ExceptionLog) exceptionLogEvent.getSource());
     }
 
+    /**
+     * 事务提交后再读取文章最新状态，maxwell 消费等无事务的场景直接执行
+     */
+    @SuppressWarnings("unchecked")
+    @TransactionalEventListener(value = ArticleChangeEvent.class, fallbackExecution = true)
+    public void refreshArticleIndex(ArticleChangeEvent articleChangeEvent) {
+        articleIndexService.refreshArticleIds((List<Integer>) articleChangeEvent.getSource());
+    }
+
+    @SuppressWarnings("unchecked")
+    @TransactionalEventListener(value = ArticleChangeEvent.class, fallbackExecution = true)
+    public void refreshArticleSearchIndex(ArticleChangeEvent articleChangeEvent) {
+        articleSearchIndexService.refreshArticles((List<Integer>) articleChangeEvent.getSource());
+        searchStrategyContext.publishArticleChange();
+    }
+
 }
@@ -0,0 +1,29 @@
+package com.aurora.listener;
+
+import com.aurora.service.AuroraInfoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+public class ConfigChangeListener implements MessageListener {
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private AuroraInfoService auroraInfoService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object key = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (Objects.nonNull(key)) {
+            auroraInfoService.evictLocalConfig(key.toString());
+        }
+    }
+
+}
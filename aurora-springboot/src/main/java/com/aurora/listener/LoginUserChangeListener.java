@@ -0,0 +1,29 @@
+package com.aurora.listener;
+
+import com.aurora.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+public class LoginUserChangeListener implements MessageListener {
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object userId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (Objects.nonNull(userId)) {
+            tokenService.evictLocalLoginUser(Integer.valueOf(userId.toString()));
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.aurora.listener;
+
+import com.aurora.handler.FilterInvocationSecurityMetadataSourceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+@Component
+public class ResourceRoleChangeListener implements MessageListener {
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private FilterInvocationSecurityMetadataSourceImpl filterInvocationSecurityMetadataSource;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object publisherId = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        filterInvocationSecurityMetadataSource.onResourceRoleChange(Objects.isNull(publisherId) ? null : publisherId.toString());
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.aurora.mapper;
+
+import com.aurora.entity.ArticleCard;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArticleCardMapper extends BaseMapper<ArticleCard> {
+
+    int saveArticleCards(@Param("articleIds") List<Integer> articleIds, @Param("categoryId") Integer categoryId,
+                         @Param("tagId") Integer tagId, @Param("userId") Integer userId);
+
+}
@@ -3,6 +3,7 @@ package com.aurora.mapper;
 import com.aurora.model.dto.ArticleAdminDTO;
 import com.aurora.model.dto.ArticleCardDTO;
 import com.aurora.model.dto.ArticleDTO;
+import com.aurora.model.dto.ArticleSearchDTO;
 import com.aurora.model.dto.ArticleStatisticsDTO;
 import com.aurora.entity.Article;
 import com.aurora.model.vo.ConditionVO;
@@ -10,6 +11,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import org.apache.ibatis.annotations.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -18,23 +20,23 @@ public interface ArticleMapper extends BaseMapper<Article> {
 
     List<ArticleCardDTO> listTopAndFeaturedArticles();
 
-    List<ArticleCardDTO> listArticles(@Param("current") Long current, @Param("size") Long size);
+    List<ArticleCardDTO> listArticles(@Param("current") Long current, @Param("size") Long size, @Param("lastId") Integer lastId);
 
-    List<ArticleCardDTO> getArticlesByCategoryId(@Param("current") Long current, @Param("size") Long size, @Param("categoryId") Integer categoryId);
+    List<ArticleCardDTO> getArticlesByCategoryId(@Param("current") Long current, @Param("size") Long size, @Param("lastId") Integer lastId, @Param("categoryId") Integer categoryId);
 
     ArticleDTO getArticleById(@Param("articleId") Integer articleId);
 
-    ArticleCardDTO getPreArticleById(@Param("articleId") Integer articleId);
+    List<Integer> listArticleIdsByTagId(@Param("current") Long current, @Param("size") Long size, @Param("lastId") Integer lastId, @Param("tagId") Integer tagId);
 
-    ArticleCardDTO getNextArticleById(@Param("articleId") Integer articleId);
+    List<ArticleCardDTO> listArticleCardsByIds(@Param("articleIds") List<Integer> articleIds);
 
-    ArticleCardDTO getFirstArticle();
+    List<ArticleCardDTO> listArchives(@Param("current") Long current, @Param("size") Long size, @Param("lastId") Integer lastId, @Param("lastCreateTime") LocalDateTime lastCreateTime);
 
-    ArticleCardDTO getLastArticle();
+    List<ArticleCardDTO> listArchivesByCreateTime(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
 
-    List<ArticleCardDTO> listArticlesByTagId(@Param("current") Long current, @Param("size") Long size, @Param("tagId") Integer tagId);
+    List<ArticleSearchDTO> searchArticlesByFullText(@Param("keywords") String keywords, @Param("current") Long current, @Param("size") Long size);
 
-    List<ArticleCardDTO> listArchives(@Param("current") Long current, @Param("size") Long size);
+    Integer countArticlesByFullText(@Param("keywords") String keywords);
 
     Integer countArticleAdmins(@Param("conditionVO") ConditionVO conditionVO);
 
@@ -29,6 +29,8 @@ public class ArticleAdminDTO {
 
     private Integer viewsCount;
 
+    private Long readersCount;
+
     private String categoryName;
 
     private List<TagDTO> tagDTOs;
@@ -29,6 +29,10 @@ public class AuroraAdminInfoDTO {
 
     private List<UniqueViewDTO> uniqueViewDTOs;
 
+    private Long weeklyUniqueVisitors;
+
+    private Long monthlyUniqueVisitors;
+
     private List<ArticleRankDTO> articleRankDTOs;
 
 }
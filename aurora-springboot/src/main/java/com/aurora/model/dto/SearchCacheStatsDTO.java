@@ -0,0 +1,26 @@
+package com.aurora.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchCacheStatsDTO {
+
+    private Long hitCount;
+
+    private Long missCount;
+
+    private Double hitRate;
+
+    private Long evictionCount;
+
+    private Long size;
+
+    private Long articleVersion;
+
+}
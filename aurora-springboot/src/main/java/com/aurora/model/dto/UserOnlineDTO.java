@@ -29,4 +29,6 @@ public class UserOnlineDTO {
 
     private LocalDateTime lastLoginTime;
 
+    private LocalDateTime expireTime;
+
 }
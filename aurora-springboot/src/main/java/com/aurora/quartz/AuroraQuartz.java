@@ -21,6 +21,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -60,21 +61,29 @@ public class AuroraQuartz {
     @Autowired
     private ElasticsearchMapper elasticsearchMapper;
 
+    @Autowired
+    private ArticleCardService articleCardService;
+
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
 
     @Value("${website.url}")
     private String websiteUrl;
 
     public void saveUniqueView() {
-        Long count = redisService.sSize(UNIQUE_VISITOR);
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Long count = uniqueVisitorService.countDailyVisitors(yesterday);
         UniqueView uniqueView = UniqueView.builder()
                 .createTime(LocalDateTimeUtil.offset(LocalDateTime.now(), -1, ChronoUnit.DAYS))
-                .viewsCount(Optional.of(count.intValue()).orElse(0))
+                .viewsCount(Optional.ofNullable(count).orElse(0L).intValue())
                 .build();
         uniqueViewMapper.insert(uniqueView);
+        uniqueVisitorService.rollup(yesterday);
     }
 
     public void clear() {
-        redisService.del(UNIQUE_VISITOR);
+        // 每日访客按日期分 key 并自动过期，这里只需清空访客地区分布
         redisService.del(VISITOR_AREA);
     }
 
@@ -128,6 +137,10 @@ public class AuroraQuartz {
         roleResourceService.saveBatch(roleResources);
     }
 
+    public void rebuildArticleCards() {
+        articleCardService.rebuildArticleCards();
+    }
+
     public void importDataIntoES() {
         elasticsearchMapper.deleteAll();
         List<Article> articles = articleService.list();
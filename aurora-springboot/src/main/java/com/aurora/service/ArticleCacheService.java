@@ -0,0 +1,23 @@
+package com.aurora.service;
+
+import com.aurora.model.dto.ArticleDTO;
+import com.aurora.model.dto.TopAndFeaturedArticlesDTO;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public interface ArticleCacheService {
+
+    ArticleDTO getArticle(Integer articleId, Function<Integer, ArticleDTO> loader);
+
+    Integer getCount(String key, Supplier<Integer> loader);
+
+    TopAndFeaturedArticlesDTO getTopAndFeaturedArticles(Supplier<TopAndFeaturedArticlesDTO> loader);
+
+    void refreshTopAndFeaturedArticles(Supplier<TopAndFeaturedArticlesDTO> loader);
+
+    void evictAll();
+
+    void evictLocal();
+
+}
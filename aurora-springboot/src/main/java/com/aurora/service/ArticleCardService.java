@@ -0,0 +1,22 @@
+package com.aurora.service;
+
+import com.aurora.entity.ArticleCard;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.util.List;
+
+public interface ArticleCardService extends IService<ArticleCard> {
+
+    void refreshArticleCards(List<Integer> articleIds);
+
+    void refreshArticleCardsByCategoryId(Integer categoryId);
+
+    void refreshArticleCardsByTagId(Integer tagId);
+
+    void refreshArticleCardsByUserId(Integer userId);
+
+    void deleteArticleCards(List<Integer> articleIds);
+
+    void rebuildArticleCards();
+
+}
@@ -0,0 +1,15 @@
+package com.aurora.service;
+
+import java.util.List;
+
+public interface ArticleIndexService {
+
+    Integer getPreArticleId(Integer articleId);
+
+    Integer getNextArticleId(Integer articleId);
+
+    void refreshArticleIds(List<Integer> articleIds);
+
+    void rebuild();
+
+}
@@ -0,0 +1,16 @@
+package com.aurora.service;
+
+import com.aurora.model.dto.ArticleSearchDTO;
+import com.aurora.model.dto.PageResultDTO;
+
+import java.util.List;
+
+public interface ArticleSearchIndexService {
+
+    PageResultDTO<ArticleSearchDTO> search(String keywords, Long current, Long size);
+
+    void refreshArticles(List<Integer> articleIds);
+
+    void rebuild();
+
+}
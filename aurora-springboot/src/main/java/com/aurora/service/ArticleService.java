@@ -24,6 +24,8 @@ public interface ArticleService extends IService<Article> {
 
     PageResultDTO<ArchiveDTO> listArchives();
 
+    ArchiveDTO getArchiveByYearMonth(Integer yearMonth);
+
     PageResultDTO<ArticleAdminDTO> listArticlesAdmin(ConditionVO conditionVO);
 
     void saveOrUpdateArticle(ArticleVO articleVO);
@@ -38,6 +40,8 @@ public interface ArticleService extends IService<Article> {
 
     List<String> exportArticles(List<Integer> articleIdList);
 
-    List<ArticleSearchDTO> listArticlesBySearch(ConditionVO condition);
+    PageResultDTO<ArticleSearchDTO> listArticlesBySearch(ConditionVO condition);
+
+    SearchCacheStatsDTO getSearchCacheStats();
 
 }
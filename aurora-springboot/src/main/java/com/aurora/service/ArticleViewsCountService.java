@@ -0,0 +1,9 @@
+package com.aurora.service;
+
+public interface ArticleViewsCountService {
+
+    Integer incrAndGet(Integer articleId, String visitorId);
+
+    void flush();
+
+}
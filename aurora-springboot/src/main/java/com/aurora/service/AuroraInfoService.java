@@ -23,4 +23,6 @@ public interface AuroraInfoService {
 
     AboutDTO getAbout();
 
+    void evictLocalConfig(String key);
+
 }
@@ -0,0 +1,21 @@
+package com.aurora.service;
+
+import com.aurora.model.dto.AuroraHomeInfoDTO;
+
+public interface HomeInfoSnapshotService {
+
+    AuroraHomeInfoDTO getAuroraHomeInfo();
+
+    void incrArticleCount(int delta);
+
+    void incrCategoryCount(int delta);
+
+    void incrTagCount(int delta);
+
+    void incrTalkCount(int delta);
+
+    void incrViewCount(int delta);
+
+    void reconcile();
+
+}
@@ -0,0 +1,42 @@
+package com.aurora.service;
+
+/**
+ * 在同一次管道中执行的一组 redis 命令，每个方法只对应一条命令，
+ * 返回的 Result 在 RedisService.executePipelined 返回后才能取值；
+ * 管道结果会丢弃 OK 等状态回复，因此这里不提供 set 这类只返回状态的命令，以免结果错位
+ */
+public interface RedisBatch {
+
+    Result<Boolean> del(String key);
+
+    Result<Double> zScore(String key, Object value);
+
+    Result<Double> zIncr(String key, Object value, Double score);
+
+    Result<Long> zRemove(String key, Object... values);
+
+    Result<Long> hyperAdd(String key, Object... values);
+
+    Result<Long> hyperGet(String key);
+
+    class Result<T> {
+
+        private T value;
+
+        private boolean done;
+
+        @SuppressWarnings("unchecked")
+        public void complete(Object value) {
+            this.value = (T) value;
+            this.done = true;
+        }
+
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("管道尚未执行");
+            }
+            return value;
+        }
+    }
+
+}
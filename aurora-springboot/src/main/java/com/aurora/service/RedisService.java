@@ -5,10 +5,12 @@ import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Point;
 import org.springframework.data.redis.connection.RedisGeoCommands;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @SuppressWarnings("all")
 public interface RedisService {
@@ -19,10 +21,18 @@ public interface RedisService {
 
     Object get(String key);
 
+    List<Object> mGet(List<String> keys);
+
     Boolean del(String key);
 
     Long del(List<String> keys);
 
+    void convertAndSend(String channel, Object message);
+
+    void executePipelined(Consumer<RedisBatch> consumer);
+
+    <T> T execute(RedisScript<T> script, List<String> keys, Object... args);
+
     Boolean expire(String key, long time);
 
     Long getExpire(String key);
@@ -61,6 +71,14 @@ public interface RedisService {
 
     Map<Object, Double> zReverseRangeWithScore(String key, long start, long end);
 
+    Boolean zAdd(String key, Object value, double score);
+
+    Long zRemove(String key, Object... values);
+
+    Long zRemoveRangeByScore(String key, double min, double max);
+
+    Long zSize(String key);
+
     Double zScore(String key, Object value);
 
     Map<Object, Double> zAllScore(String key);
@@ -107,6 +125,8 @@ public interface RedisService {
 
     Long hyperGet(String... key);
 
+    Long hyperUnion(String destination, String... sourceKeys);
+
     void hyperDel(String key);
 
     Long geoAdd(String key, Double x, Double y, String name);
@@ -1,5 +1,6 @@
 package com.aurora.service;
 
+import com.aurora.model.dto.PageResultDTO;
 import com.aurora.model.dto.UserDetailsDTO;
 import io.jsonwebtoken.Claims;
 
@@ -21,4 +22,8 @@ public interface TokenService {
 
     void delLoginUser(Integer userId);
 
+    void evictLocalLoginUser(Integer userId);
+
+    PageResultDTO<UserDetailsDTO> listLoginUsers(String keywords, long fromIndex, long size);
+
 }
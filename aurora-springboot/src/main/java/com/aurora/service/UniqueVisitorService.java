@@ -0,0 +1,17 @@
+package com.aurora.service;
+
+import java.time.LocalDate;
+
+public interface UniqueVisitorService {
+
+    void report();
+
+    Long countDailyVisitors(LocalDate date);
+
+    Long countWeeklyVisitors(LocalDate date);
+
+    Long countMonthlyVisitors(LocalDate date);
+
+    void rollup(LocalDate date);
+
+}
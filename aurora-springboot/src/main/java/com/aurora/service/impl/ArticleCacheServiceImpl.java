@@ -0,0 +1,203 @@
+package com.aurora.service.impl;
+
+import com.alibaba.fastjson.JSON;
+import com.aurora.model.dto.ArticleDTO;
+import com.aurora.model.dto.TopAndFeaturedArticlesDTO;
+import com.aurora.service.ArticleCacheService;
+import com.aurora.service.RedisService;
+import com.aurora.util.TransactionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static com.aurora.constant.RedisConstant.ARTICLE_CACHE;
+import static com.aurora.constant.RedisConstant.ARTICLE_CACHE_CHANNEL;
+import static com.aurora.constant.RedisConstant.ARTICLE_CACHE_EXPIRE_TIME;
+import static com.aurora.constant.RedisConstant.ARTICLE_CACHE_INDEX;
+import static com.aurora.constant.RedisConstant.ARTICLE_CACHE_VERSION;
+import static com.aurora.constant.RedisConstant.TOP_AND_FEATURED_ARTICLES;
+
+/**
+ * 文章详情二级缓存：L1 为进程内 Caffeine，L2 为 redis 中每篇文章一个 key，各自过期，缓存内容包含上一篇、下一篇卡片；
+ * 清空时递增 redis 中的版本号并广播，各实例清除本地缓存，加载期间版本号发生变化的结果不写回缓存
+ */
+@Service
+public class ArticleCacheServiceImpl implements ArticleCacheService {
+
+    private static final RedisScript<Long> CACHE_SET_SCRIPT = RedisScript.of(new ClassPathResource("lua/article_cache_set.lua"), Long.class);
+
+    private static final long LOCAL_MAXIMUM_SIZE = 500;
+
+    private static final long LOCAL_EXPIRE_TIME = 60;
+
+    private final Cache<Integer, ArticleDTO> localCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .expireAfterWrite(LOCAL_EXPIRE_TIME, TimeUnit.SECONDS)
+            .build();
+
+    private final Cache<String, Integer> countCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .expireAfterWrite(LOCAL_EXPIRE_TIME, TimeUnit.SECONDS)
+            .build();
+
+    private final Cache<String, TopAndFeaturedArticlesDTO> topAndFeaturedCache = Caffeine.newBuilder()
+            .maximumSize(1)
+            .expireAfterWrite(LOCAL_EXPIRE_TIME, TimeUnit.SECONDS)
+            .build();
+
+    /**
+     * 本地缓存被清除的次数，加载前后不一致说明加载结果可能已过期
+     */
+    private final AtomicLong localVersion = new AtomicLong();
+
+    @Autowired
+    private RedisService redisService;
+
+    /**
+     * 依次从本地缓存、redis 中获取文章，均未命中时通过 loader 从数据库加载并回填
+     * @param articleId 文章id
+     * @param loader 数据库加载函数
+     * @return ArticleDTO，文章不存在时返回 null 且不缓存
+     */
+    @Override
+    public ArticleDTO getArticle(Integer articleId, Function<Integer, ArticleDTO> loader) {
+        long version = localVersion.get();
+        ArticleDTO articleDTO = localCache.get(articleId, id -> {
+            Object cached = redisService.get(ARTICLE_CACHE + id);
+            if (Objects.nonNull(cached)) {
+                return JSON.parseObject(cached.toString(), ArticleDTO.class);
+            }
+            long cacheVersion = getCacheVersion();
+            ArticleDTO loaded = loader.apply(id);
+            if (Objects.nonNull(loaded)) {
+                redisService.execute(CACHE_SET_SCRIPT, Arrays.asList(ARTICLE_CACHE_VERSION, ARTICLE_CACHE + id, ARTICLE_CACHE_INDEX),
+                        cacheVersion, JSON.toJSONString(loaded), ARTICLE_CACHE_EXPIRE_TIME, id);
+            }
+            return loaded;
+        });
+        invalidateIfEvicted(localCache, articleId, version);
+        return articleDTO;
+    }
+
+    /**
+     * 获取文章列表的近似总数，列表分页时不必每页都执行一次 count 查询
+     * @param key 列表标识，如分类、标签
+     * @param loader 数据库 count 函数
+     * @return 总数
+     */
+    @Override
+    public Integer getCount(String key, Supplier<Integer> loader) {
+        return countCache.get(key, k -> loader.get());
+    }
+
+    /**
+     * 首页置顶、推荐文章，正常情况下由写操作通过 refreshTopAndFeaturedArticles 预先计算好，
+     * 仅在缓存被整体清空后由首次读取回填
+     * @param loader 数据库加载函数
+     * @return TopAndFeaturedArticlesDTO
+     */
+    @Override
+    public TopAndFeaturedArticlesDTO getTopAndFeaturedArticles(Supplier<TopAndFeaturedArticlesDTO> loader) {
+        long version = localVersion.get();
+        TopAndFeaturedArticlesDTO topAndFeaturedArticlesDTO = topAndFeaturedCache.get(TOP_AND_FEATURED_ARTICLES, key -> {
+            Object cached = redisService.get(key);
+            if (Objects.nonNull(cached)) {
+                return JSON.parseObject(cached.toString(), TopAndFeaturedArticlesDTO.class);
+            }
+            long cacheVersion = getCacheVersion();
+            TopAndFeaturedArticlesDTO loaded = loader.get();
+            redisService.execute(CACHE_SET_SCRIPT, Arrays.asList(ARTICLE_CACHE_VERSION, key), cacheVersion, JSON.toJSONString(loaded), 0);
+            return loaded;
+        });
+        invalidateIfEvicted(topAndFeaturedCache, TOP_AND_FEATURED_ARTICLES, version);
+        return topAndFeaturedArticlesDTO;
+    }
+
+    /**
+     * 在写操作提交后重新计算首页置顶、推荐文章，需在 evictAll 之后调用
+     * @param loader 数据库加载函数
+     */
+    @Override
+    public void refreshTopAndFeaturedArticles(Supplier<TopAndFeaturedArticlesDTO> loader) {
+        TransactionUtil.runAfterCommit(() -> {
+            TopAndFeaturedArticlesDTO topAndFeaturedArticlesDTO = loader.get();
+            redisService.set(TOP_AND_FEATURED_ARTICLES, JSON.toJSONString(topAndFeaturedArticlesDTO));
+            topAndFeaturedCache.put(TOP_AND_FEATURED_ARTICLES, topAndFeaturedArticlesDTO);
+        });
+    }
+
+    /**
+     * 清空全部文章缓存，上一篇、下一篇卡片嵌在相邻文章中，因此任一文章变更都需整体失效；
+     * 处于事务中时延迟到提交之后执行，避免并发读取把旧数据重新写回缓存
+     */
+    @Override
+    public void evictAll() {
+        TransactionUtil.runAfterCommit(this::doEvictAll);
+    }
+
+    /**
+     * 先递增版本号，使清空前开始的加载不能再写回 redis，再删除 redis 缓存并通知其他实例
+     */
+    private void doEvictAll() {
+        redisService.incr(ARTICLE_CACHE_VERSION, 1);
+        evictLocal();
+        redisService.del(TOP_AND_FEATURED_ARTICLES);
+        evictArticleKeys();
+        redisService.convertAndSend(ARTICLE_CACHE_CHANNEL, Boolean.TRUE);
+    }
+
+    /**
+     * 清除本地缓存，由本实例的 evictAll 或 redis 文章缓存频道的消息触发
+     */
+    @Override
+    public void evictLocal() {
+        localVersion.incrementAndGet();
+        localCache.invalidateAll();
+        countCache.invalidateAll();
+        topAndFeaturedCache.invalidateAll();
+    }
+
+    private long getCacheVersion() {
+        return Long.parseLong(Optional.ofNullable(redisService.get(ARTICLE_CACHE_VERSION)).orElse(0).toString());
+    }
+
+    /**
+     * 加载期间本地缓存被清除过时，丢弃刚放入的结果，避免旧数据在本地缓存中保留到过期
+     */
+    private <K, V> void invalidateIfEvicted(Cache<K, V> cache, K key, long version) {
+        if (localVersion.get() != version) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * 按索引删除已缓存的文章 key；先从索引中移除再删 key，
+     * 期间回填的文章会重新加入索引，不会留下索引之外的旧缓存
+     */
+    private void evictArticleKeys() {
+        Set<Object> articleIds = redisService.sMembers(ARTICLE_CACHE_INDEX);
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        redisService.sRemove(ARTICLE_CACHE_INDEX, articleIds.toArray());
+        List<String> keys = articleIds.stream()
+                .map(articleId -> ARTICLE_CACHE + articleId)
+                .collect(Collectors.toList());
+        redisService.del(keys);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.aurora.service.impl;
+
+import com.aurora.entity.ArticleCard;
+import com.aurora.mapper.ArticleCardMapper;
+import com.aurora.service.ArticleCardService;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * 维护文章卡片投影表 t_article_card，列表类查询直接读取其中的摘要、分类名、作者和标签，
+ * 不再每次截取 article_content 并关联分类、用户、标签表
+ */
+@Slf4j
+@Service
+public class ArticleCardServiceImpl extends ServiceImpl<ArticleCardMapper, ArticleCard> implements ArticleCardService {
+
+    @Autowired
+    private ArticleCardMapper articleCardMapper;
+
+    /**
+     * 已有部署升级后投影表为空，启动时按文章表回填；REPLACE INTO 可重复执行，多个节点同时回填也不冲突
+     */
+    @PostConstruct
+    public void init() {
+        if (articleCardMapper.selectCount(null) == 0) {
+            articleCardMapper.saveArticleCards(null, null, null, null);
+            log.info("article cards backfilled, count: {}", articleCardMapper.selectCount(null));
+        }
+    }
+
+    @Override
+    public void refreshArticleCards(List<Integer> articleIds) {
+        if (CollectionUtils.isNotEmpty(articleIds)) {
+            articleCardMapper.saveArticleCards(articleIds, null, null, null);
+        }
+    }
+
+    @Override
+    public void refreshArticleCardsByCategoryId(Integer categoryId) {
+        articleCardMapper.saveArticleCards(null, categoryId, null, null);
+    }
+
+    @Override
+    public void refreshArticleCardsByTagId(Integer tagId) {
+        articleCardMapper.saveArticleCards(null, null, tagId, null);
+    }
+
+    @Override
+    public void refreshArticleCardsByUserId(Integer userId) {
+        articleCardMapper.saveArticleCards(null, null, null, userId);
+    }
+
+    @Override
+    public void deleteArticleCards(List<Integer> articleIds) {
+        if (CollectionUtils.isNotEmpty(articleIds)) {
+            articleCardMapper.deleteBatchIds(articleIds);
+        }
+    }
+
+    /**
+     * 根据文章表全量重建投影表
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void rebuildArticleCards() {
+        articleCardMapper.delete(null);
+        articleCardMapper.saveArticleCards(null, null, null, null);
+    }
+
+}
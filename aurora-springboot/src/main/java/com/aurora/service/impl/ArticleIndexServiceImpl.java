@@ -0,0 +1,83 @@
+package com.aurora.service.impl;
+
+import com.aurora.entity.Article;
+import com.aurora.mapper.ArticleMapper;
+import com.aurora.service.ArticleIndexService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * 公开且未删除文章 id 的有序索引，上一篇、下一篇通过二分查找定位，首尾循环
+ * 写操作只在副本上进行，完成后整体替换，读取无需加锁
+ */
+@Service
+public class ArticleIndexServiceImpl implements ArticleIndexService {
+
+    private volatile int[] articleIds = new int[0];
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Override
+    public Integer getPreArticleId(Integer articleId) {
+        int[] ids = articleIds;
+        if (ids.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(ids, articleId);
+        int preIndex = index >= 0 ? index - 1 : -index - 2;
+        return preIndex >= 0 ? ids[preIndex] : ids[ids.length - 1];
+    }
+
+    @Override
+    public Integer getNextArticleId(Integer articleId) {
+        int[] ids = articleIds;
+        if (ids.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(ids, articleId);
+        int nextIndex = index >= 0 ? index + 1 : -index - 1;
+        return nextIndex < ids.length ? ids[nextIndex] : ids[0];
+    }
+
+    /**
+     * 按数据库中的最新状态更新指定文章在索引中的位置
+     * @param changedIds 发生变更的文章id
+     */
+    @Override
+    public synchronized void refreshArticleIds(List<Integer> changedIds) {
+        if (CollectionUtils.isEmpty(changedIds)) {
+            return;
+        }
+        Set<Integer> changed = new HashSet<>(changedIds);
+        IntStream retainedIds = Arrays.stream(articleIds).filter(id -> !changed.contains(id));
+        articleIds = IntStream.concat(retainedIds, listVisibleArticleIds(changed)).sorted().distinct().toArray();
+    }
+
+    @PostConstruct
+    @Override
+    public synchronized void rebuild() {
+        articleIds = listVisibleArticleIds(null).sorted().toArray();
+    }
+
+    private IntStream listVisibleArticleIds(Set<Integer> ids) {
+        return articleMapper.selectObjs(new LambdaQueryWrapper<Article>()
+                .select(Article::getId)
+                .in(Objects.nonNull(ids), Article::getId, ids)
+                .eq(Article::getIsDelete, 0)
+                .in(Article::getStatus, 1, 2))
+                .stream()
+                .mapToInt(id -> ((Number) id).intValue());
+    }
+
+}
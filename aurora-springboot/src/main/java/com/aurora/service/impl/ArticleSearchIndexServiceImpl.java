@@ -0,0 +1,254 @@
+package com.aurora.service.impl;
+
+import com.aurora.entity.Article;
+import com.aurora.mapper.ArticleMapper;
+import com.aurora.model.dto.ArticleSearchDTO;
+import com.aurora.model.dto.PageResultDTO;
+import com.aurora.service.ArticleSearchIndexService;
+import com.aurora.util.Highlighter;
+import com.aurora.util.TokenizerUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import static com.aurora.constant.CommonConstant.FALSE;
+import static com.aurora.enums.ArticleStatusEnum.PUBLIC;
+import static com.aurora.enums.SearchModeEnum.MEMORY;
+
+/**
+ * 公开文章标题和内容的内存倒排索引，按 BM25 排序，标题命中的得分加权；
+ * 查询的所有词都需命中，文章写入后按 id 增量更新，只在 search.mode 为 memory 时加载
+ */
+@Slf4j
+@Service
+public class ArticleSearchIndexServiceImpl implements ArticleSearchIndexService {
+
+    private static final double K1 = 1.2;
+
+    private static final double B = 0.75;
+
+    private static final double TITLE_BOOST = 2.0;
+
+    @Value("${search.mode}")
+    private String searchMode;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, IndexedArticle> articles = new HashMap<>();
+
+    private final Map<String, Map<Integer, Integer>> titlePostings = new HashMap<>();
+
+    private final Map<String, Map<Integer, Integer>> contentPostings = new HashMap<>();
+
+    private long titleLengthSum;
+
+    private long contentLengthSum;
+
+    @Override
+    public PageResultDTO<ArticleSearchDTO> search(String keywords, Long current, Long size) {
+        if (StringUtils.isBlank(keywords)) {
+            return new PageResultDTO<>(new ArrayList<>(), 0);
+        }
+        Set<String> terms = TokenizerUtil.tokenizeForQuery(keywords).stream()
+                .map(TokenizerUtil.Token::getTerm)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (terms.isEmpty()) {
+            return new PageResultDTO<>(new ArrayList<>(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            Set<Integer> candidates = null;
+            for (String term : terms) {
+                Set<Integer> matched = new HashSet<>(titlePostings.getOrDefault(term, Collections.emptyMap()).keySet());
+                matched.addAll(contentPostings.getOrDefault(term, Collections.emptyMap()).keySet());
+                if (Objects.isNull(candidates)) {
+                    candidates = matched;
+                } else {
+                    candidates.retainAll(matched);
+                }
+                if (candidates.isEmpty()) {
+                    return new PageResultDTO<>(new ArrayList<>(), 0);
+                }
+            }
+            int articleCount = articles.size();
+            double avgTitleLength = (double) titleLengthSum / articleCount;
+            double avgContentLength = (double) contentLengthSum / articleCount;
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Integer, Integer> titleTf = titlePostings.getOrDefault(term, Collections.emptyMap());
+                Map<Integer, Integer> contentTf = contentPostings.getOrDefault(term, Collections.emptyMap());
+                double titleIdf = idf(articleCount, titleTf.size());
+                double contentIdf = idf(articleCount, contentTf.size());
+                for (Integer articleId : candidates) {
+                    IndexedArticle article = articles.get(articleId);
+                    double score = TITLE_BOOST * bm25(titleTf.get(articleId), article.titleLength, avgTitleLength, titleIdf)
+                            + bm25(contentTf.get(articleId), article.contentLength, avgContentLength, contentIdf);
+                    scores.merge(articleId, score, Double::sum);
+                }
+            }
+            // 只对当前页的结果生成高亮和摘要
+            Highlighter highlighter = Highlighter.compile(terms);
+            List<ArticleSearchDTO> records = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+                    .skip((current - 1) * size)
+                    .limit(size)
+                    .map(entry -> {
+                        IndexedArticle article = articles.get(entry.getKey());
+                        return ArticleSearchDTO.builder()
+                                .id(entry.getKey())
+                                .articleTitle(highlighter.highlight(article.title))
+                                .articleContent(highlighter.snippet(article.content))
+                                .build();
+                    })
+                    .collect(Collectors.toList());
+            return new PageResultDTO<>(records, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按数据库中的最新状态更新指定文章的索引
+     * @param articleIds 发生变更的文章id
+     */
+    @Override
+    public void refreshArticles(List<Integer> articleIds) {
+        if (!isEnabled() || CollectionUtils.isEmpty(articleIds)) {
+            return;
+        }
+        Map<Integer, Article> visibleArticles = listPublicArticles(articleIds).stream()
+                .collect(Collectors.toMap(Article::getId, article -> article));
+        lock.writeLock().lock();
+        try {
+            for (Integer articleId : articleIds) {
+                remove(articleId);
+                Article article = visibleArticles.get(articleId);
+                if (Objects.nonNull(article)) {
+                    add(article);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PostConstruct
+    @Override
+    public void rebuild() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Article> publicArticles = listPublicArticles(null);
+        lock.writeLock().lock();
+        try {
+            articles.clear();
+            titlePostings.clear();
+            contentPostings.clear();
+            titleLengthSum = 0;
+            contentLengthSum = 0;
+            publicArticles.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("article search index rebuilt, articles: {}, terms: {}", publicArticles.size(), contentPostings.size());
+    }
+
+    private boolean isEnabled() {
+        return MEMORY.getMode().equals(searchMode);
+    }
+
+    private List<Article> listPublicArticles(List<Integer> articleIds) {
+        return articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getArticleTitle, Article::getArticleContent)
+                .in(Objects.nonNull(articleIds), Article::getId, articleIds)
+                .eq(Article::getIsDelete, FALSE)
+                .eq(Article::getStatus, PUBLIC.getStatus()));
+    }
+
+    private void add(Article article) {
+        IndexedArticle indexedArticle = new IndexedArticle(article.getArticleTitle(), article.getArticleContent());
+        articles.put(article.getId(), indexedArticle);
+        indexedArticle.titleTf.forEach((term, tf) -> titlePostings.computeIfAbsent(term, key -> new HashMap<>()).put(article.getId(), tf));
+        indexedArticle.contentTf.forEach((term, tf) -> contentPostings.computeIfAbsent(term, key -> new HashMap<>()).put(article.getId(), tf));
+        titleLengthSum += indexedArticle.titleLength;
+        contentLengthSum += indexedArticle.contentLength;
+    }
+
+    private void remove(Integer articleId) {
+        IndexedArticle indexedArticle = articles.remove(articleId);
+        if (Objects.isNull(indexedArticle)) {
+            return;
+        }
+        removePostings(titlePostings, indexedArticle.titleTf.keySet(), articleId);
+        removePostings(contentPostings, indexedArticle.contentTf.keySet(), articleId);
+        titleLengthSum -= indexedArticle.titleLength;
+        contentLengthSum -= indexedArticle.contentLength;
+    }
+
+    private static void removePostings(Map<String, Map<Integer, Integer>> postings, Set<String> terms, Integer articleId) {
+        for (String term : terms) {
+            Map<Integer, Integer> posting = postings.get(term);
+            posting.remove(articleId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static double idf(int articleCount, int documentFrequency) {
+        return Math.log(1 + (articleCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double bm25(Integer tf, int length, double avgLength, double idf) {
+        if (Objects.isNull(tf)) {
+            return 0;
+        }
+        return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    private static class IndexedArticle {
+
+        private final String title;
+
+        private final String content;
+
+        private final Map<String, Integer> titleTf;
+
+        private final Map<String, Integer> contentTf;
+
+        private final int titleLength;
+
+        private final int contentLength;
+
+        private IndexedArticle(String title, String content) {
+            this.title = title;
+            this.content = content;
+            List<TokenizerUtil.Token> titleTokens = TokenizerUtil.tokenizeForIndex(title);
+            List<TokenizerUtil.Token> contentTokens = TokenizerUtil.tokenizeForIndex(content);
+            this.titleTf = countTerms(titleTokens);
+            this.contentTf = countTerms(contentTokens);
+            this.titleLength = titleTokens.size();
+            this.contentLength = contentTokens.size();
+        }
+
+        private static Map<String, Integer> countTerms(List<TokenizerUtil.Token> tokens) {
+            Map<String, Integer> tf = new HashMap<>();
+            tokens.forEach(token -> tf.merge(token.getTerm(), 1, Integer::sum));
+            return tf;
+        }
+    }
+
+}
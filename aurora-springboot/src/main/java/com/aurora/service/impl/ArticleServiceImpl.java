@@ -8,19 +8,28 @@ import com.aurora.entity.Category;
 import com.aurora.entity.Tag;
 import com.aurora.enums.FileExtEnum;
 import com.aurora.enums.FilePathEnum;
+import com.aurora.event.ArticleChangeEvent;
 import com.aurora.exception.BizException;
 import com.aurora.mapper.ArticleMapper;
 import com.aurora.mapper.ArticleTagMapper;
 import com.aurora.mapper.CategoryMapper;
 import com.aurora.mapper.TagMapper;
+import com.aurora.service.ArticleCacheService;
+import com.aurora.service.ArticleCardService;
+import com.aurora.service.ArticleIndexService;
 import com.aurora.service.ArticleService;
 import com.aurora.service.ArticleTagService;
+import com.aurora.service.ArticleViewsCountService;
+import com.aurora.service.HomeInfoSnapshotService;
+import com.aurora.service.RedisBatch;
 import com.aurora.service.RedisService;
 import com.aurora.service.TagService;
 import com.aurora.strategy.context.SearchStrategyContext;
 import com.aurora.strategy.context.UploadStrategyContext;
 import com.aurora.util.BeanCopyUtil;
+import com.aurora.util.IpUtil;
 import com.aurora.util.PageUtil;
+import com.aurora.util.TransactionUtil;
 import com.aurora.util.UserUtil;
 import com.aurora.model.vo.*;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
@@ -31,15 +40,24 @@ import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.aurora.constant.CommonConstant.*;
 import static com.aurora.constant.RabbitMQConstant.SUBSCRIBE_EXCHANGE;
 import static com.aurora.constant.RedisConstant.*;
 import static com.aurora.enums.ArticleStatusEnum.*;
@@ -78,50 +96,62 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
     @Autowired
     private SearchStrategyContext searchStrategyContext;
 
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
+    @Autowired
+    private ArticleCardService articleCardService;
+
+    @Autowired
+    private ArticleViewsCountService articleViewsCountService;
+
+    @Autowired
+    private ArticleIndexService articleIndexService;
+
+    @Autowired
+    private HomeInfoSnapshotService homeInfoSnapshotService;
+
+    @Autowired
+    private HttpServletRequest request;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    @Qualifier("ioExecutor")
+    private Executor ioExecutor;
+
     @SneakyThrows
     @Override
     public TopAndFeaturedArticlesDTO listTopAndFeaturedArticles() {
-        List<ArticleCardDTO> articleCardDTOs = articleMapper.listTopAndFeaturedArticles();
-        if (articleCardDTOs.size() == 0) {
-            return new TopAndFeaturedArticlesDTO();
-        } else if (articleCardDTOs.size() > 3) {
-            articleCardDTOs = articleCardDTOs.subList(0, 3);
-        }
-        TopAndFeaturedArticlesDTO topAndFeaturedArticlesDTO = new TopAndFeaturedArticlesDTO();
-        topAndFeaturedArticlesDTO.setTopArticle(articleCardDTOs.get(0));
-        articleCardDTOs.remove(0);
-        topAndFeaturedArticlesDTO.setFeaturedArticles(articleCardDTOs);
-        return topAndFeaturedArticlesDTO;
+        return articleCacheService.getTopAndFeaturedArticles(this::assembleTopAndFeaturedArticles);
     }
 
-    @SneakyThrows
     @Override
     public PageResultDTO<ArticleCardDTO> listArticles() {
         LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<Article>()
                 .eq(Article::getIsDelete, 0)
                 .eq(Article::getStatus, 1);
-        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> articleMapper.selectCount(queryWrapper));
-        List<ArticleCardDTO> articles = articleMapper.listArticles(PageUtil.getLimitCurrent(), PageUtil.getSize());
-        return new PageResultDTO<>(articles, asyncCount.get());
+        Integer count = articleCacheService.getCount(ARTICLE_COUNT_KEY, () -> articleMapper.selectCount(queryWrapper));
+        List<ArticleCardDTO> articles = articleMapper.listArticles(PageUtil.getLimitCurrent(), PageUtil.getSize(), PageUtil.getLastId());
+        return new PageResultDTO<>(articles, count);
     }
 
-    @SneakyThrows
     @Override
     public PageResultDTO<ArticleCardDTO> listArticlesByCategoryId(Integer categoryId) {
         LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<Article>().eq(Article::getCategoryId, categoryId);
-        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> articleMapper.selectCount(queryWrapper));
-        List<ArticleCardDTO> articles = articleMapper.getArticlesByCategoryId(PageUtil.getLimitCurrent(), PageUtil.getSize(), categoryId);
-        return new PageResultDTO<>(articles, asyncCount.get());
+        Integer count = articleCacheService.getCount(CATEGORY_ARTICLE_COUNT_KEY + categoryId, () -> articleMapper.selectCount(queryWrapper));
+        List<ArticleCardDTO> articles = articleMapper.getArticlesByCategoryId(PageUtil.getLimitCurrent(), PageUtil.getSize(), PageUtil.getLastId(), categoryId);
+        return new PageResultDTO<>(articles, count);
     }
 
-    @SneakyThrows
     @Override
     public ArticleDTO getArticleById(Integer articleId) {
-        Article articleForCheck = articleMapper.selectOne(new LambdaQueryWrapper<Article>().eq(Article::getId, articleId));
-        if (Objects.isNull(articleForCheck)) {
+        ArticleDTO cachedArticle = articleCacheService.getArticle(articleId, this::assembleArticle);
+        if (Objects.isNull(cachedArticle)) {
             return null;
         }
-        if (articleForCheck.getStatus().equals(2)) {
+        if (cachedArticle.getStatus().equals(2)) {
             Boolean isAccess;
             try {
                 isAccess = redisService.sIsMember(ARTICLE_ACCESS + UserUtil.getUserDetailsDTO().getId(), articleId);
@@ -132,32 +162,9 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
                 throw new BizException(ARTICLE_ACCESS_FAIL);
             }
         }
-        updateArticleViewsCount(articleId);
-        CompletableFuture<ArticleDTO> asyncArticle = CompletableFuture.supplyAsync(() -> articleMapper.getArticleById(articleId));
-        CompletableFuture<ArticleCardDTO> asyncPreArticle = CompletableFuture.supplyAsync(() -> {
-            ArticleCardDTO preArticle = articleMapper.getPreArticleById(articleId);
-            if (Objects.isNull(preArticle)) {
-                preArticle = articleMapper.getLastArticle();
-            }
-            return preArticle;
-        });
-        CompletableFuture<ArticleCardDTO> asyncNextArticle = CompletableFuture.supplyAsync(() -> {
-            ArticleCardDTO nextArticle = articleMapper.getNextArticleById(articleId);
-            if (Objects.isNull(nextArticle)) {
-                nextArticle = articleMapper.getFirstArticle();
-            }
-            return nextArticle;
-        });
-        ArticleDTO article = asyncArticle.get();
-        if (Objects.isNull(article)) {
-            return null;
-        }
-        Double score = redisService.zScore(ARTICLE_VIEWS_COUNT, articleId);
-        if (Objects.nonNull(score)) {
-            article.setViewCount(score.intValue());
-        }
-        article.setPreArticleCard(asyncPreArticle.get());
-        article.setNextArticleCard(asyncNextArticle.get());
+        // 缓存中的对象是共享的，浏览量只写到副本上
+        ArticleDTO article = BeanCopyUtil.copyObject(cachedArticle, ArticleDTO.class);
+        article.setViewCount(articleViewsCountService.incrAndGet(articleId, IpUtil.getVisitorId(request)));
         return article;
     }
 
@@ -174,51 +181,51 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
     }
 
-    @SneakyThrows
     @Override
     public PageResultDTO<ArticleCardDTO> listArticlesByTagId(Integer tagId) {
         LambdaQueryWrapper<ArticleTag> queryWrapper = new LambdaQueryWrapper<ArticleTag>().eq(ArticleTag::getTagId, tagId);
-        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> articleTagMapper.selectCount(queryWrapper));
-        List<ArticleCardDTO> articles = articleMapper.listArticlesByTagId(PageUtil.getLimitCurrent(), PageUtil.getSize(), tagId);
-        return new PageResultDTO<>(articles, asyncCount.get());
+        Integer count = articleCacheService.getCount(TAG_ARTICLE_COUNT_KEY + tagId, () -> articleTagMapper.selectCount(queryWrapper));
+        // 先按文章分页取出 id，再批量查询卡片，避免标签关联产生的多行影响分页
+        List<Integer> articleIds = articleMapper.listArticleIdsByTagId(PageUtil.getLimitCurrent(), PageUtil.getSize(), PageUtil.getLastId(), tagId);
+        if (CollectionUtils.isEmpty(articleIds)) {
+            return new PageResultDTO<>(new ArrayList<>(), count);
+        }
+        List<ArticleCardDTO> articles = articleMapper.listArticleCardsByIds(articleIds);
+        return new PageResultDTO<>(articles, count);
     }
 
-    @SneakyThrows
     @Override
     public PageResultDTO<ArchiveDTO> listArchives() {
         LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<Article>().eq(Article::getIsDelete, 0).eq(Article::getStatus, 1);
-        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> articleMapper.selectCount(queryWrapper));
-        List<ArticleCardDTO> articles = articleMapper.listArchives(PageUtil.getLimitCurrent(), PageUtil.getSize());
-        HashMap<String, List<ArticleCardDTO>> map = new HashMap<>();
+        Integer count = articleCacheService.getCount(ARCHIVE_COUNT_KEY, () -> articleMapper.selectCount(queryWrapper));
+        List<ArticleCardDTO> articles = articleMapper.listArchives(PageUtil.getLimitCurrent(), PageUtil.getSize(), PageUtil.getLastId(), PageUtil.getLastCreateTime());
+        // 查询结果已按创建时间倒序，同月文章必然相邻，按年月整数键顺序切分即可
+        List<ArchiveDTO> archiveDTOs = new ArrayList<>();
+        int lastYearMonth = -1;
         for (ArticleCardDTO article : articles) {
-            LocalDateTime createTime = article.getCreateTime();
-            int month = createTime.getMonth().getValue();
-            int year = createTime.getYear();
-            String key = year + "-" + month;
-            if (Objects.isNull(map.get(key))) {
-                List<ArticleCardDTO> articleCardDTOS = new ArrayList<>();
-                articleCardDTOS.add(article);
-                map.put(key, articleCardDTOS);
-            } else {
-                map.get(key).add(article);
+            int yearMonth = toYearMonth(article.getCreateTime());
+            if (yearMonth != lastYearMonth) {
+                archiveDTOs.add(ArchiveDTO.builder().Time(formatYearMonth(yearMonth)).articles(new ArrayList<>()).build());
+                lastYearMonth = yearMonth;
             }
+            archiveDTOs.get(archiveDTOs.size() - 1).getArticles().add(article);
         }
-        List<ArchiveDTO> archiveDTOs = new ArrayList<>();
-        map.forEach((key, value) -> archiveDTOs.add(ArchiveDTO.builder().Time(key).articles(value).build()));
-        archiveDTOs.sort((o1, o2) -> {
-            String[] o1s = o1.getTime().split("-");
-            String[] o2s = o2.getTime().split("-");
-            int o1Year = Integer.parseInt(o1s[0]);
-            int o1Month = Integer.parseInt(o1s[1]);
-            int o2Year = Integer.parseInt(o2s[0]);
-            int o2Month = Integer.parseInt(o2s[1]);
-            if (o1Year > o2Year) {
-                return -1;
-            } else if (o1Year < o2Year) {
-                return 1;
-            } else return Integer.compare(o2Month, o1Month);
-        });
-        return new PageResultDTO<>(archiveDTOs, asyncCount.get());
+        return new PageResultDTO<>(archiveDTOs, count);
+    }
+
+    @Override
+    public ArchiveDTO getArchiveByYearMonth(Integer yearMonth) {
+        int year = yearMonth / 100;
+        int month = yearMonth % 100;
+        if (year < 1 || month < 1 || month > 12) {
+            throw new BizException("归档月份格式错误");
+        }
+        LocalDateTime startTime = LocalDate.of(year, month, 1).atStartOfDay();
+        List<ArticleCardDTO> articles = articleMapper.listArchivesByCreateTime(startTime, startTime.plusMonths(1));
+        return ArchiveDTO.builder()
+                .Time(formatYearMonth(yearMonth))
+                .articles(articles)
+                .build();
     }
 
     /**
@@ -230,17 +237,23 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
     @Override
     public PageResultDTO<ArticleAdminDTO> listArticlesAdmin(ConditionVO conditionVO) {
         // CompletableFuture能够主动设置计算的结果值（主动终结计算过程，即completable），从而在某些场景下主动结束阻塞等待。
-        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> articleMapper.countArticleAdmins(conditionVO));
+        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> articleMapper.countArticleAdmins(conditionVO), ioExecutor);
         List<ArticleAdminDTO> articleAdminDTOs = articleMapper.listArticlesAdmin(PageUtil.getLimitCurrent(), PageUtil.getSize(), conditionVO);
-        // 从 redis 查询浏览量
-        Map<Object, Double> viewsCountMap = redisService.zAllScore(ARTICLE_VIEWS_COUNT);
-        articleAdminDTOs.forEach(item -> {
-            Double viewsCount = viewsCountMap.get(item.getId());
+        // 从 redis 批量查询当前页文章的浏览量和独立读者数
+        List<RedisBatch.Result<Double>> viewsCounts = new ArrayList<>(articleAdminDTOs.size());
+        List<RedisBatch.Result<Long>> readersCounts = new ArrayList<>(articleAdminDTOs.size());
+        redisService.executePipelined(batch -> articleAdminDTOs.forEach(item -> {
+            viewsCounts.add(batch.zScore(ARTICLE_VIEWS_COUNT, item.getId()));
+            readersCounts.add(batch.hyperGet(ARTICLE_UNIQUE_READER + item.getId()));
+        }));
+        for (int i = 0; i < articleAdminDTOs.size(); i++) {
+            Double viewsCount = viewsCounts.get(i).get();
             if (Objects.nonNull(viewsCount)) {
-                item.setViewsCount(viewsCount.intValue());
+                articleAdminDTOs.get(i).setViewsCount(viewsCount.intValue());
             }
-        });
-        return new PageResultDTO<>(articleAdminDTOs, asyncCount.get());
+            articleAdminDTOs.get(i).setReadersCount(readersCounts.get(i).get());
+        }
+        return new PageResultDTO<>(articleAdminDTOs, asyncCount.get(ASYNC_TIMEOUT, TimeUnit.SECONDS));
     }
 
     /**
@@ -258,6 +271,13 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         article.setUserId(UserUtil.getUserDetailsDTO().getUserInfoId());
         this.saveOrUpdate(article);
         saveArticleTag(articleVO, article.getId());
+        if (Objects.isNull(articleVO.getId())) {
+            TransactionUtil.runAfterCommit(() -> homeInfoSnapshotService.incrArticleCount(1));
+        }
+        articleCardService.refreshArticleCards(Collections.singletonList(article.getId()));
+        articleCacheService.evictAll();
+        articleCacheService.refreshTopAndFeaturedArticles(this::assembleTopAndFeaturedArticles);
+        applicationContext.publishEvent(new ArticleChangeEvent(Collections.singletonList(article.getId())));
         if (article.getStatus().equals(1)) {
             rabbitTemplate.convertAndSend(SUBSCRIBE_EXCHANGE, "*", new Message(JSON.toJSONBytes(article.getId()), new MessageProperties()));
         }
@@ -271,25 +291,40 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
                 .isFeatured(articleTopFeaturedVO.getIsFeatured())
                 .build();
         articleMapper.updateById(article);
+        articleCardService.refreshArticleCards(Collections.singletonList(article.getId()));
+        articleCacheService.evictAll();
+        articleCacheService.refreshTopAndFeaturedArticles(this::assembleTopAndFeaturedArticles);
     }
 
     @Override
     public void updateArticleDelete(DeleteVO deleteVO) {
-        List<Article> articles = deleteVO.getIds().stream()
-                .map(id -> Article.builder()
-                        .id(id)
-                        .isDelete(deleteVO.getIsDelete())
-                        .build())
-                .collect(Collectors.toList());
-        this.updateBatchById(articles);
+        // 只更新状态实际发生变化的文章，影响行数即为文章数量的变化量
+        int rows = articleMapper.update(Article.builder().isDelete(deleteVO.getIsDelete()).build(),
+                new LambdaQueryWrapper<Article>()
+                        .in(Article::getId, deleteVO.getIds())
+                        .ne(Article::getIsDelete, deleteVO.getIsDelete()));
+        int delta = deleteVO.getIsDelete().equals(FALSE) ? rows : -rows;
+        TransactionUtil.runAfterCommit(() -> homeInfoSnapshotService.incrArticleCount(delta));
+        articleCardService.refreshArticleCards(deleteVO.getIds());
+        articleCacheService.evictAll();
+        articleCacheService.refreshTopAndFeaturedArticles(this::assembleTopAndFeaturedArticles);
+        applicationContext.publishEvent(new ArticleChangeEvent(deleteVO.getIds()));
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteArticles(List<Integer> articleIds) {
+        Integer count = articleMapper.selectCount(new LambdaQueryWrapper<Article>()
+                .in(Article::getId, articleIds)
+                .eq(Article::getIsDelete, FALSE));
         articleTagMapper.delete(new LambdaQueryWrapper<ArticleTag>()
                 .in(ArticleTag::getArticleId, articleIds));
         articleMapper.deleteBatchIds(articleIds);
+        TransactionUtil.runAfterCommit(() -> homeInfoSnapshotService.incrArticleCount(-count));
+        articleCardService.deleteArticleCards(articleIds);
+        articleCacheService.evictAll();
+        articleCacheService.refreshTopAndFeaturedArticles(this::assembleTopAndFeaturedArticles);
+        applicationContext.publishEvent(new ArticleChangeEvent(articleIds));
     }
 
     @Override
@@ -327,12 +362,66 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
     }
 
     @Override
-    public List<ArticleSearchDTO> listArticlesBySearch(ConditionVO condition) {
-        return searchStrategyContext.executeSearchStrategy(condition.getKeywords());
+    public PageResultDTO<ArticleSearchDTO> listArticlesBySearch(ConditionVO condition) {
+        // 页码至少为 1，每页条数限制在 [1, MAX_SEARCH_SIZE]，避免常见关键词一次返回过多内容或负数分页参数绕过限制
+        long current = Math.max(PageUtil.getCurrent(), 1L);
+        long size = Math.min(Math.max(PageUtil.getSize(), 1L), MAX_SEARCH_SIZE);
+        return searchStrategyContext.executeSearchStrategy(condition.getKeywords(), current, size);
+    }
+
+    @Override
+    public SearchCacheStatsDTO getSearchCacheStats() {
+        return searchStrategyContext.getSearchCacheStats();
+    }
+
+    /**
+     * 从数据库组装文章详情及上一篇、下一篇卡片，作为文章缓存的加载函数
+     * @param articleId 文章id
+     * @return ArticleDTO
+     */
+    @SneakyThrows
+    private ArticleDTO assembleArticle(Integer articleId) {
+        CompletableFuture<ArticleDTO> asyncArticle = CompletableFuture.supplyAsync(() -> articleMapper.getArticleById(articleId), ioExecutor);
+        Integer preArticleId = articleIndexService.getPreArticleId(articleId);
+        Integer nextArticleId = articleIndexService.getNextArticleId(articleId);
+        CompletableFuture<Map<Integer, ArticleCardDTO>> asyncArticleCards = CompletableFuture.supplyAsync(() -> {
+            List<Integer> articleIds = Stream.of(preArticleId, nextArticleId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .collect(Collectors.toList());
+            if (articleIds.isEmpty()) {
+                return Collections.<Integer, ArticleCardDTO>emptyMap();
+            }
+            return articleMapper.listArticleCardsByIds(articleIds).stream()
+                    .collect(Collectors.toMap(ArticleCardDTO::getId, Function.identity()));
+        }, ioExecutor);
+        ArticleDTO article = asyncArticle.get(ASYNC_TIMEOUT, TimeUnit.SECONDS);
+        if (Objects.isNull(article)) {
+            return null;
+        }
+        Map<Integer, ArticleCardDTO> articleCards = asyncArticleCards.get(ASYNC_TIMEOUT, TimeUnit.SECONDS);
+        article.setPreArticleCard(articleCards.get(preArticleId));
+        article.setNextArticleCard(articleCards.get(nextArticleId));
+        return article;
+    }
+
+    private TopAndFeaturedArticlesDTO assembleTopAndFeaturedArticles() {
+        List<ArticleCardDTO> articleCardDTOs = articleMapper.listTopAndFeaturedArticles();
+        if (articleCardDTOs.isEmpty()) {
+            return new TopAndFeaturedArticlesDTO();
+        }
+        return TopAndFeaturedArticlesDTO.builder()
+                .topArticle(articleCardDTOs.get(0))
+                .featuredArticles(new ArrayList<>(articleCardDTOs.subList(1, articleCardDTOs.size())))
+                .build();
+    }
+
+    private static int toYearMonth(LocalDateTime dateTime) {
+        return dateTime.getYear() * 100 + dateTime.getMonthValue();
     }
 
-    public void updateArticleViewsCount(Integer articleId) {
-        redisService.zIncr(ARTICLE_VIEWS_COUNT, articleId, 1D);
+    private static String formatYearMonth(int yearMonth) {
+        return yearMonth / 100 + "-" + yearMonth % 100;
     }
 
     /**
@@ -348,6 +437,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
                     .categoryName(articleVO.getCategoryName())
                     .build();
             categoryMapper.insert(category);
+            TransactionUtil.runAfterCommit(() -> homeInfoSnapshotService.incrCategoryCount(1));
         }
         return category;
     }
@@ -390,6 +480,8 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
                         .collect(Collectors.toList());
                 // 将 tag 集合保存
                 tagService.saveBatch(tags);
+                int tagCount = tags.size();
+                TransactionUtil.runAfterCommit(() -> homeInfoSnapshotService.incrTagCount(tagCount));
                 // 将 tag 集合的 id 封装
                 List<Integer> tagIds = tags.stream()
                         .map(Tag::getId)
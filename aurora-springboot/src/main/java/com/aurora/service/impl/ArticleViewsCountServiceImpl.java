@@ -0,0 +1,132 @@
+package com.aurora.service.impl;
+
+import com.aurora.service.ArticleViewsCountService;
+import com.aurora.service.RedisBatch;
+import com.aurora.service.RedisService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.aurora.constant.RedisConstant.ARTICLE_UNIQUE_READER;
+import static com.aurora.constant.RedisConstant.ARTICLE_VIEWS_COUNT;
+
+/**
+ * 文章浏览量计数：请求线程只累加本地计数和读者标识，由后台线程定时批量写入 redis，
+ * 读者写入每篇文章的 HyperLogLog 用于统计独立读者数
+ */
+@Slf4j
+@Service
+public class ArticleViewsCountServiceImpl implements ArticleViewsCountService {
+
+    @Autowired
+    private RedisService redisService;
+
+    @Value("${views.flush-interval:1000}")
+    private long flushInterval;
+
+    private final Map<Integer, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Double> flushedCounts = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Set<String>> pendingReaders = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flushExecutor;
+
+    @PostConstruct
+    public void init() {
+        flushExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("views-flush-thread-"));
+        flushExecutor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    /**
+     * 浏览量加一，返回最近一次写入 redis 的值加上本地尚未写入的增量
+     * @param articleId 文章id
+     * @param visitorId 访客标识
+     * @return 当前浏览量
+     */
+    @Override
+    public Integer incrAndGet(Integer articleId, String visitorId) {
+        LongAdder pending = pendingCounts.computeIfAbsent(articleId, key -> new LongAdder());
+        pending.increment();
+        // 在 compute 内写入读者，与 flush 中按文章 remove 互斥，不会写进已被取走的集合
+        pendingReaders.compute(articleId, (key, visitorIds) -> {
+            Set<String> readers = Objects.isNull(visitorIds) ? new HashSet<>() : visitorIds;
+            readers.add(visitorId);
+            return readers;
+        });
+        Double flushed = flushedCounts.get(articleId);
+        if (Objects.isNull(flushed)) {
+            flushed = Optional.ofNullable(redisService.zScore(ARTICLE_VIEWS_COUNT, articleId)).orElse(0D);
+            Double previous = flushedCounts.putIfAbsent(articleId, flushed);
+            if (Objects.nonNull(previous)) {
+                flushed = previous;
+            }
+        }
+        return (int) (flushed + pending.sum());
+    }
+
+    /**
+     * 将本地累计的增量通过一次 pipeline 写入 redis；写入成功并更新已写入的值之后才从本地扣除增量，
+     * 读取时不会因增量暂时两边都不计而偏小；写入失败时增量仍在本地，等待下次重试
+     */
+    @Override
+    public synchronized void flush() {
+        Map<Integer, Long> increments = new LinkedHashMap<>();
+        pendingCounts.forEach((articleId, pending) -> {
+            long delta = pending.sum();
+            if (delta > 0) {
+                increments.put(articleId, delta);
+            }
+        });
+        Map<Integer, Set<String>> readers = new LinkedHashMap<>();
+        pendingReaders.keySet().forEach(articleId -> {
+            Set<String> visitorIds = pendingReaders.remove(articleId);
+            if (Objects.nonNull(visitorIds)) {
+                readers.put(articleId, visitorIds);
+            }
+        });
+        if (increments.isEmpty() && readers.isEmpty()) {
+            return;
+        }
+        Map<Integer, RedisBatch.Result<Double>> scores = new LinkedHashMap<>();
+        try {
+            redisService.executePipelined(batch -> {
+                increments.forEach((articleId, delta) -> scores.put(articleId, batch.zIncr(ARTICLE_VIEWS_COUNT, articleId, (double) delta)));
+                readers.forEach((articleId, visitorIds) -> batch.hyperAdd(ARTICLE_UNIQUE_READER + articleId, visitorIds.toArray()));
+            });
+            scores.forEach((articleId, score) -> {
+                flushedCounts.put(articleId, score.get());
+                pendingCounts.get(articleId).add(-increments.get(articleId));
+            });
+        } catch (Exception e) {
+            log.error("flush article views count failed", e);
+            readers.forEach((articleId, visitorIds) -> pendingReaders.merge(articleId, visitorIds, (current, failed) -> {
+                current.addAll(failed);
+                return current;
+            }));
+        }
+    }
+
+}
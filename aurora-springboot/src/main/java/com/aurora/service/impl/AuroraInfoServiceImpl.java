@@ -5,28 +5,24 @@ import com.aurora.model.dto.*;
 import com.aurora.entity.*;
 import com.aurora.mapper.*;
 import com.aurora.service.AuroraInfoService;
+import com.aurora.service.HomeInfoSnapshotService;
 import com.aurora.service.RedisService;
 import com.aurora.service.UniqueViewService;
+import com.aurora.service.UniqueVisitorService;
 import com.aurora.util.BeanCopyUtil;
-import com.aurora.util.IpUtil;
+import com.aurora.util.TransactionUtil;
 import com.aurora.model.vo.AboutVO;
 import com.aurora.model.vo.WebsiteConfigVO;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
-import com.baomidou.mybatisplus.core.toolkit.StringUtils;
-import eu.bitwalker.useragentutils.Browser;
-import eu.bitwalker.useragentutils.OperatingSystem;
-import eu.bitwalker.useragentutils.UserAgent;
-import lombok.SneakyThrows;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.DigestUtils;
-
-import javax.servlet.http.HttpServletRequest;
 
+import java.time.LocalDate;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.aurora.constant.CommonConstant.*;
@@ -50,9 +46,6 @@ public class AuroraInfoServiceImpl implements AuroraInfoService {
     @Autowired
     private CommentMapper commentMapper;
 
-    @Autowired
-    private TalkMapper talkMapper;
-
     @Autowired
     private UserInfoMapper userInfoMapper;
 
@@ -66,51 +59,26 @@ public class AuroraInfoServiceImpl implements AuroraInfoService {
     private UniqueViewService uniqueViewService;
 
     @Autowired
-    private HttpServletRequest request;
+    private HomeInfoSnapshotService homeInfoSnapshotService;
+
+    @Autowired
+    private UniqueVisitorService uniqueVisitorService;
+
+    private final Cache<String, Object> localConfigCache = Caffeine.newBuilder().build();
 
     /**
      * 上报访客信息
      */
     @Override
     public void report() {
-        String ipAddress = IpUtil.getIpAddress(request);
-        UserAgent userAgent = IpUtil.getUserAgent(request);
-        Browser browser = userAgent.getBrowser();
-        OperatingSystem operatingSystem = userAgent.getOperatingSystem();
-        String uuid = ipAddress + browser.getName() + operatingSystem.getName();
-        String md5 = DigestUtils.md5DigestAsHex(uuid.getBytes());
-        if (!redisService.sIsMember(UNIQUE_VISITOR, md5)) {
-            String ipSource = IpUtil.getIpSource(ipAddress);
-            if (StringUtils.isNotBlank(ipSource)) {
-                String ipProvince = IpUtil.getIpProvince(ipSource);
-                redisService.hIncr(VISITOR_AREA, ipProvince, 1L);
-            } else {
-                redisService.hIncr(VISITOR_AREA, UNKNOWN, 1L);
-            }
-            redisService.incr(BLOG_VIEWS_COUNT, 1);
-            redisService.sAdd(UNIQUE_VISITOR, md5);
-        }
+        uniqueVisitorService.report();
     }
 
-    @SneakyThrows
     @Override
     public AuroraHomeInfoDTO getAuroraHomeInfo() {
-        CompletableFuture<Integer> asyncArticleCount = CompletableFuture.supplyAsync(() -> articleMapper.selectCount(new LambdaQueryWrapper<Article>().eq(Article::getIsDelete, FALSE)));
-        CompletableFuture<Integer> asyncCategoryCount = CompletableFuture.supplyAsync(() -> categoryMapper.selectCount(null));
-        CompletableFuture<Integer> asyncTagCount = CompletableFuture.supplyAsync(() -> tagMapper.selectCount(null));
-        CompletableFuture<Integer> asyncTalkCount = CompletableFuture.supplyAsync(() -> talkMapper.selectCount(null));
-        CompletableFuture<WebsiteConfigDTO> asyncWebsiteConfig = CompletableFuture.supplyAsync(this::getWebsiteConfig);
-        CompletableFuture<Integer> asyncViewCount = CompletableFuture.supplyAsync(() -> {
-            Object count = redisService.get(BLOG_VIEWS_COUNT);
-            return Integer.parseInt(Optional.ofNullable(count).orElse(0).toString());
-        });
-        return AuroraHomeInfoDTO.builder()
-                .articleCount(asyncArticleCount.get())
-                .categoryCount(asyncCategoryCount.get())
-                .tagCount(asyncTagCount.get())
-                .talkCount(asyncTalkCount.get())
-                .websiteConfigDTO(asyncWebsiteConfig.get())
-                .viewCount(asyncViewCount.get()).build();
+        AuroraHomeInfoDTO auroraHomeInfoDTO = homeInfoSnapshotService.getAuroraHomeInfo();
+        auroraHomeInfoDTO.setWebsiteConfigDTO(getWebsiteConfig());
+        return auroraHomeInfoDTO;
     }
 
     /**
@@ -119,26 +87,26 @@ public class AuroraInfoServiceImpl implements AuroraInfoService {
      */
     @Override
     public AuroraAdminInfoDTO getAuroraAdminInfo() {
-        Object count = redisService.get(BLOG_VIEWS_COUNT);
-        Integer viewsCount = Integer.parseInt(Optional.ofNullable(count).orElse(0).toString());
+        AuroraHomeInfoDTO auroraHomeInfoDTO = homeInfoSnapshotService.getAuroraHomeInfo();
         Integer messageCount = commentMapper.selectCount(new LambdaQueryWrapper<Comment>().eq(Comment::getType, 2));
         Integer userCount = userInfoMapper.selectCount(null);
-        Integer articleCount = articleMapper.selectCount(new LambdaQueryWrapper<Article>()
-                .eq(Article::getIsDelete, FALSE));
         List<UniqueViewDTO> uniqueViews = uniqueViewService.listUniqueViews();
         List<ArticleStatisticsDTO> articleStatisticsDTOs = articleMapper.listArticleStatistics();
         List<CategoryDTO> categoryDTOs = categoryMapper.listCategories();
         List<TagDTO> tagDTOs = BeanCopyUtil.copyList(tagMapper.selectList(null), TagDTO.class);
         Map<Object, Double> articleMap = redisService.zReverseRangeWithScore(ARTICLE_VIEWS_COUNT, 0, 4);
+        LocalDate today = LocalDate.now();
         AuroraAdminInfoDTO auroraAdminInfoDTO = AuroraAdminInfoDTO.builder()
                 .articleStatisticsDTOs(articleStatisticsDTOs)
                 .tagDTOs(tagDTOs)
-                .viewsCount(viewsCount)
+                .viewsCount(auroraHomeInfoDTO.getViewCount())
                 .messageCount(messageCount)
                 .userCount(userCount)
-                .articleCount(articleCount)
+                .articleCount(auroraHomeInfoDTO.getArticleCount())
                 .categoryDTOs(categoryDTOs)
                 .uniqueViewDTOs(uniqueViews)
+                .weeklyUniqueVisitors(uniqueVisitorService.countWeeklyVisitors(today))
+                .monthlyUniqueVisitors(uniqueVisitorService.countMonthlyVisitors(today))
                 .build();
         if (CollectionUtils.isNotEmpty(articleMap)) {
             List<ArticleRankDTO> articleRankDTOList = listArticleRank(articleMap);
@@ -159,25 +127,25 @@ public class AuroraInfoServiceImpl implements AuroraInfoService {
                 .config(JSON.toJSONString(websiteConfigVO))
                 .build();
         websiteConfigMapper.updateById(websiteConfig);
-        redisService.del(WEBSITE_CONFIG);
+        TransactionUtil.runAfterCommit(() -> publishConfigChange(WEBSITE_CONFIG));
     }
 
     /**
-     * 获取网站配置
+     * 获取网站配置，本地缓存的对象在各调用方之间共享，返回其副本，调用方修改不影响缓存
      * @return WebsiteConfigDTO
      */
     @Override
     public WebsiteConfigDTO getWebsiteConfig() {
-        WebsiteConfigDTO websiteConfigDTO;
-        Object websiteConfig = redisService.get(WEBSITE_CONFIG);
-        if (Objects.nonNull(websiteConfig)) {
-            websiteConfigDTO = JSON.parseObject(websiteConfig.toString(), WebsiteConfigDTO.class);
-        } else {
+        WebsiteConfigDTO websiteConfigDTO = (WebsiteConfigDTO) localConfigCache.get(WEBSITE_CONFIG, key -> {
+            Object websiteConfig = redisService.get(key);
+            if (Objects.nonNull(websiteConfig)) {
+                return JSON.parseObject(websiteConfig.toString(), WebsiteConfigDTO.class);
+            }
             String config = websiteConfigMapper.selectById(DEFAULT_CONFIG_ID).getConfig();
-            websiteConfigDTO = JSON.parseObject(config, WebsiteConfigDTO.class);
-            redisService.set(WEBSITE_CONFIG, config);
-        }
-        return websiteConfigDTO;
+            redisService.set(key, config);
+            return JSON.parseObject(config, WebsiteConfigDTO.class);
+        });
+        return BeanCopyUtil.copyObject(websiteConfigDTO, WebsiteConfigDTO.class);
     }
 
     @Override
@@ -188,21 +156,40 @@ public class AuroraInfoServiceImpl implements AuroraInfoService {
                 .content(JSON.toJSONString(aboutVO))
                 .build();
         aboutMapper.updateById(about);
-        redisService.del(ABOUT);
+        TransactionUtil.runAfterCommit(() -> publishConfigChange(ABOUT));
     }
 
     @Override
     public AboutDTO getAbout() {
-        AboutDTO aboutDTO;
-        Object about = redisService.get(ABOUT);
-        if (Objects.nonNull(about)) {
-            aboutDTO = JSON.parseObject(about.toString(), AboutDTO.class);
-        } else {
+        AboutDTO aboutDTO = (AboutDTO) localConfigCache.get(ABOUT, key -> {
+            Object about = redisService.get(key);
+            if (Objects.nonNull(about)) {
+                return JSON.parseObject(about.toString(), AboutDTO.class);
+            }
             String content = aboutMapper.selectById(DEFAULT_ABOUT_ID).getContent();
-            aboutDTO = JSON.parseObject(content, AboutDTO.class);
-            redisService.set(ABOUT, content);
-        }
-        return aboutDTO;
+            redisService.set(key, content);
+            return JSON.parseObject(content, AboutDTO.class);
+        });
+        return BeanCopyUtil.copyObject(aboutDTO, AboutDTO.class);
+    }
+
+    /**
+     * 清除本地解析好的配置，由 redis 配置变更频道的消息触发
+     * @param key 配置对应的 redis key
+     */
+    @Override
+    public void evictLocalConfig(String key) {
+        localConfigCache.invalidate(key);
+    }
+
+    /**
+     * 删除 redis 中的配置并广播变更，各实例（包括当前实例）收到消息后清除本地配置
+     * @param key 配置对应的 redis key
+     */
+    private void publishConfigChange(String key) {
+        redisService.del(key);
+        evictLocalConfig(key);
+        redisService.convertAndSend(CONFIG_CHANNEL, key);
     }
 
     private List<ArticleRankDTO> listArticleRank(Map<Object, Double> articleMap) {
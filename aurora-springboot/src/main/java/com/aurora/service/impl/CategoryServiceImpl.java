@@ -8,7 +8,10 @@ import com.aurora.entity.Category;
 import com.aurora.exception.BizException;
 import com.aurora.mapper.ArticleMapper;
 import com.aurora.mapper.CategoryMapper;
+import com.aurora.service.ArticleCacheService;
+import com.aurora.service.ArticleCardService;
 import com.aurora.service.CategoryService;
+import com.aurora.service.HomeInfoSnapshotService;
 import com.aurora.util.BeanCopyUtil;
 import com.aurora.util.PageUtil;
 import com.aurora.model.vo.CategoryVO;
@@ -33,6 +36,15 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
     @Autowired
     private ArticleMapper articleMapper;
 
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
+    @Autowired
+    private ArticleCardService articleCardService;
+
+    @Autowired
+    private HomeInfoSnapshotService homeInfoSnapshotService;
+
     @Override
     public List<CategoryDTO> listCategories() {
         return categoryMapper.listCategories();
@@ -77,7 +89,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         if (count > 0) {
             throw new BizException("删除失败，该分类下存在文章");
         }
-        categoryMapper.deleteBatchIds(categoryIds);
+        homeInfoSnapshotService.incrCategoryCount(-categoryMapper.deleteBatchIds(categoryIds));
     }
 
     @Override
@@ -93,6 +105,12 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
                 .categoryName(categoryVO.getCategoryName())
                 .build();
         this.saveOrUpdate(category);
+        if (Objects.nonNull(categoryVO.getId())) {
+            articleCardService.refreshArticleCardsByCategoryId(categoryVO.getId());
+        } else {
+            homeInfoSnapshotService.incrCategoryCount(1);
+        }
+        articleCacheService.evictAll();
     }
 
 }
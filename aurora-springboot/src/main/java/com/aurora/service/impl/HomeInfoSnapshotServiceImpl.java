@@ -0,0 +1,135 @@
+package com.aurora.service.impl;
+
+import com.aurora.entity.Article;
+import com.aurora.mapper.ArticleMapper;
+import com.aurora.mapper.CategoryMapper;
+import com.aurora.mapper.TagMapper;
+import com.aurora.mapper.TalkMapper;
+import com.aurora.model.dto.AuroraHomeInfoDTO;
+import com.aurora.service.HomeInfoSnapshotService;
+import com.aurora.service.RedisService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.aurora.constant.CommonConstant.FALSE;
+import static com.aurora.constant.RedisConstant.BLOG_VIEWS_COUNT;
+
+/**
+ * 首页统计快照：文章、分类、标签、说说数量及访问量保存在内存计数器中，由各写操作增减，
+ * 后台线程定时与数据库、redis 对账，修正事务回滚、其他实例写入等带来的偏差
+ */
+@Slf4j
+@Service
+public class HomeInfoSnapshotServiceImpl implements HomeInfoSnapshotService {
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
+    @Autowired
+    private TalkMapper talkMapper;
+
+    @Autowired
+    private RedisService redisService;
+
+    @Value("${home-info.reconcile-interval:60000}")
+    private long reconcileInterval;
+
+    private final AtomicInteger articleCount = new AtomicInteger();
+
+    private final AtomicInteger categoryCount = new AtomicInteger();
+
+    private final AtomicInteger tagCount = new AtomicInteger();
+
+    private final AtomicInteger talkCount = new AtomicInteger();
+
+    private final AtomicInteger viewCount = new AtomicInteger();
+
+    private ScheduledExecutorService reconcileExecutor;
+
+    @PostConstruct
+    public void init() {
+        reconcile();
+        reconcileExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("home-info-reconcile-thread-"));
+        reconcileExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                log.error("reconcile home info failed", e);
+            }
+        }, reconcileInterval, reconcileInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        reconcileExecutor.shutdown();
+    }
+
+    /**
+     * 仅读取内存计数器，不含网站配置
+     * @return AuroraHomeInfoDTO
+     */
+    @Override
+    public AuroraHomeInfoDTO getAuroraHomeInfo() {
+        return AuroraHomeInfoDTO.builder()
+                .articleCount(articleCount.get())
+                .categoryCount(categoryCount.get())
+                .tagCount(tagCount.get())
+                .talkCount(talkCount.get())
+                .viewCount(viewCount.get())
+                .build();
+    }
+
+    @Override
+    public void incrArticleCount(int delta) {
+        articleCount.addAndGet(delta);
+    }
+
+    @Override
+    public void incrCategoryCount(int delta) {
+        categoryCount.addAndGet(delta);
+    }
+
+    @Override
+    public void incrTagCount(int delta) {
+        tagCount.addAndGet(delta);
+    }
+
+    @Override
+    public void incrTalkCount(int delta) {
+        talkCount.addAndGet(delta);
+    }
+
+    @Override
+    public void incrViewCount(int delta) {
+        viewCount.addAndGet(delta);
+    }
+
+    @Override
+    public void reconcile() {
+        articleCount.set(articleMapper.selectCount(new LambdaQueryWrapper<Article>().eq(Article::getIsDelete, FALSE)));
+        categoryCount.set(categoryMapper.selectCount(null));
+        tagCount.set(tagMapper.selectCount(null));
+        talkCount.set(talkMapper.selectCount(null));
+        Object count = redisService.get(BLOG_VIEWS_COUNT);
+        viewCount.set(Integer.parseInt(Optional.ofNullable(count).orElse(0).toString()));
+    }
+
+}
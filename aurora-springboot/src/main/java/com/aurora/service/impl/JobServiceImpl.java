@@ -19,6 +19,7 @@ import org.quartz.JobKey;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
@@ -27,6 +28,10 @@ import javax.annotation.PostConstruct;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static com.aurora.constant.CommonConstant.ASYNC_TIMEOUT;
 
 @Service
 public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobService {
@@ -37,6 +42,10 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
     @Autowired
     private JobMapper jobMapper;
 
+    @Autowired
+    @Qualifier("ioExecutor")
+    private Executor ioExecutor;
+
     @SneakyThrows
     @PostConstruct
     public void init() {
@@ -95,9 +104,9 @@ public class JobServiceImpl extends ServiceImpl<JobMapper, Job> implements JobSe
     @SneakyThrows
     @Override
     public PageResultDTO<JobDTO> listJobs(JobSearchVO jobSearchVO) {
-        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> jobMapper.countJobs(jobSearchVO));
+        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> jobMapper.countJobs(jobSearchVO), ioExecutor);
         List<JobDTO> jobDTOs = jobMapper.listJobs(PageUtil.getLimitCurrent(), PageUtil.getSize(), jobSearchVO);
-        return new PageResultDTO<>(jobDTOs, asyncCount.get());
+        return new PageResultDTO<>(jobDTOs, asyncCount.get(ASYNC_TIMEOUT, TimeUnit.SECONDS));
     }
 
     @SneakyThrows
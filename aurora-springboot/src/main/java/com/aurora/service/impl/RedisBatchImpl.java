@@ -0,0 +1,77 @@
+package com.aurora.service.impl;
+
+import com.aurora.service.RedisBatch;
+import org.springframework.data.redis.core.RedisOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 管道中命令的返回值都是 null，按调用顺序记录结果占位，执行后再依次回填；
+ * 每条命令按 key 选用对应的模板，保证值的序列化格式与非管道的读写一致
+ */
+@SuppressWarnings("all")
+public class RedisBatchImpl implements RedisBatch {
+
+    private final Function<String, RedisOperations<String, Object>> operations;
+
+    private final List<Result<?>> results = new ArrayList<>();
+
+    public RedisBatchImpl(Function<String, RedisOperations<String, Object>> operations) {
+        this.operations = operations;
+    }
+
+    @Override
+    public Result<Boolean> del(String key) {
+        operations.apply(key).delete(key);
+        return next();
+    }
+
+    @Override
+    public Result<Double> zScore(String key, Object value) {
+        operations.apply(key).opsForZSet().score(key, value);
+        return next();
+    }
+
+    @Override
+    public Result<Double> zIncr(String key, Object value, Double score) {
+        operations.apply(key).opsForZSet().incrementScore(key, value, score);
+        return next();
+    }
+
+    @Override
+    public Result<Long> zRemove(String key, Object... values) {
+        operations.apply(key).opsForZSet().remove(key, values);
+        return next();
+    }
+
+    @Override
+    public Result<Long> hyperAdd(String key, Object... values) {
+        operations.apply(key).opsForHyperLogLog().add(key, values);
+        return next();
+    }
+
+    @Override
+    public Result<Long> hyperGet(String key) {
+        operations.apply(key).opsForHyperLogLog().size(key);
+        return next();
+    }
+
+    /**
+     * 用管道的执行结果回填占位
+     * @param values executePipelined 的返回值，与命令顺序一致
+     */
+    public void complete(List<Object> values) {
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).complete(values.get(i));
+        }
+    }
+
+    private <T> Result<T> next() {
+        Result<T> result = new Result<>();
+        results.add(result);
+        return result;
+    }
+
+}
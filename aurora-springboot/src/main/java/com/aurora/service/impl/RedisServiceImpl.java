@@ -1,6 +1,7 @@
 package com.aurora.service.impl;
 
 
+import com.aurora.service.RedisBatch;
 import com.aurora.service.RedisService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
@@ -10,38 +11,69 @@ import org.springframework.data.geo.Point;
 import org.springframework.data.redis.connection.BitFieldSubCommands;
 import org.springframework.data.redis.connection.RedisGeoCommands;
 import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.aurora.constant.RedisConstant.LOGIN_USER;
+
 
 @Service
 @SuppressWarnings("all")
 public class RedisServiceImpl implements RedisService {
 
+    /**
+     * 值按紧凑格式存储的 key 前缀
+     */
+    private static final List<String> COMPACT_KEY_PREFIXES = Collections.singletonList(LOGIN_USER);
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private RedisTemplate<String, Object> compactRedisTemplate;
+
+    private RedisTemplate<String, Object> valueTemplate(String key) {
+        for (String prefix : COMPACT_KEY_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return compactRedisTemplate;
+            }
+        }
+        return redisTemplate;
+    }
+
     @Override
     public void set(String key, Object value, long time) {
-        redisTemplate.opsForValue().set(key, value, time, TimeUnit.SECONDS);
+        valueTemplate(key).opsForValue().set(key, value, time, TimeUnit.SECONDS);
     }
 
     @Override
     public void set(String key, Object value) {
-        redisTemplate.opsForValue().set(key, value);
+        valueTemplate(key).opsForValue().set(key, value);
     }
 
     @Override
     public Object get(String key) {
-        return redisTemplate.opsForValue().get(key);
+        return valueTemplate(key).opsForValue().get(key);
+    }
+
+    @Override
+    public List<Object> mGet(List<String> keys) {
+        // 紧凑格式的反序列化兼容原有格式，批量读取统一使用紧凑格式的模板
+        return compactRedisTemplate.opsForValue().multiGet(keys);
     }
 
     @Override
@@ -54,6 +86,39 @@ public class RedisServiceImpl implements RedisService {
         return redisTemplate.delete(keys);
     }
 
+    @Override
+    public void convertAndSend(String channel, Object message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    /**
+     * 在一次往返中执行 consumer 中的所有命令，执行完成后 RedisBatch 返回的结果才可读取；
+     * 两个模板共用连接工厂，会话内的命令都进入同一个管道，各命令按 key 选用模板序列化，
+     * 结果由紧凑格式的模板反序列化，兼容两种格式
+     * @param consumer 向管道中添加命令
+     */
+    @Override
+    public void executePipelined(Consumer<RedisBatch> consumer) {
+        RedisBatchImpl[] batch = new RedisBatchImpl[1];
+        List<Object> results = compactRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                batch[0] = new RedisBatchImpl(RedisServiceImpl.this::valueTemplate);
+                consumer.accept(batch[0]);
+                return null;
+            }
+        });
+        batch[0].complete(results);
+    }
+
+    /**
+     * 执行 lua 脚本，参数按值序列化方式（JSON）编码，脚本中读取字符串参数时需要 cjson.decode
+     */
+    @Override
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        return redisTemplate.execute(script, keys, args);
+    }
+
     @Override
     public Boolean expire(String key, long time) {
         return redisTemplate.expire(key, time, TimeUnit.SECONDS);
@@ -154,7 +219,28 @@ public class RedisServiceImpl implements RedisService {
     public Map<Object, Double> zReverseRangeWithScore(String key, long start, long end) {
         return redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end)
                 .stream()
-                .collect(Collectors.toMap(ZSetOperations.TypedTuple::getValue, ZSetOperations.TypedTuple::getScore));
+                .collect(Collectors.toMap(ZSetOperations.TypedTuple::getValue, ZSetOperations.TypedTuple::getScore,
+                        (oldValue, newValue) -> newValue, LinkedHashMap::new));
+    }
+
+    @Override
+    public Boolean zAdd(String key, Object value, double score) {
+        return redisTemplate.opsForZSet().add(key, value, score);
+    }
+
+    @Override
+    public Long zRemove(String key, Object... values) {
+        return redisTemplate.opsForZSet().remove(key, values);
+    }
+
+    @Override
+    public Long zRemoveRangeByScore(String key, double min, double max) {
+        return redisTemplate.opsForZSet().removeRangeByScore(key, min, max);
+    }
+
+    @Override
+    public Long zSize(String key) {
+        return redisTemplate.opsForZSet().zCard(key);
     }
 
     @Override
@@ -282,6 +368,11 @@ public class RedisServiceImpl implements RedisService {
         return redisTemplate.opsForHyperLogLog().size(key);
     }
 
+    @Override
+    public Long hyperUnion(String destination, String... sourceKeys) {
+        return redisTemplate.opsForHyperLogLog().union(destination, sourceKeys);
+    }
+
     @Override
     public void hyperDel(String key) {
         redisTemplate.opsForHyperLogLog().delete(key);
@@ -83,6 +83,7 @@ public class ResourceServiceImpl extends ServiceImpl<ResourceMapper, Resource> i
             resources.add(resource);
         }));
         this.saveBatch(resources);
+        filterInvocationSecurityMetadataSource.clearDataSource();
     }
 
     @Override
@@ -107,6 +108,7 @@ public class ResourceServiceImpl extends ServiceImpl<ResourceMapper, Resource> i
                 .collect(Collectors.toList());
         resourceIds.add(resourceId);
         resourceMapper.deleteBatchIds(resourceIds);
+        filterInvocationSecurityMetadataSource.clearDataSource();
     }
 
     /**
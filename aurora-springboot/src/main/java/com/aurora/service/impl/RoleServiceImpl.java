@@ -24,14 +24,19 @@ import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.SneakyThrows;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static com.aurora.constant.CommonConstant.ASYNC_TIMEOUT;
+
 @Service
 public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements RoleService {
 
@@ -50,6 +55,10 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
     @Autowired
     private FilterInvocationSecurityMetadataSourceImpl filterInvocationSecurityMetadataSource;
 
+    @Autowired
+    @Qualifier("ioExecutor")
+    private Executor ioExecutor;
+
     /**
      * 查询所有用户信息
      * @return List<UserRoleDTO>
@@ -73,13 +82,13 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         LambdaQueryWrapper<Role> queryWrapper = new LambdaQueryWrapper<Role>()
                 .like(StringUtils.isNotBlank(conditionVO.getKeywords()), Role::getRoleName, conditionVO.getKeywords());
         // CompletableFuture能够主动设置计算的结果值（主动终结计算过程，即completable），从而在某些场景下主动结束阻塞等待。
-        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> roleMapper.selectCount(queryWrapper));
+        CompletableFuture<Integer> asyncCount = CompletableFuture.supplyAsync(() -> roleMapper.selectCount(queryWrapper), ioExecutor);
 
         // 查询出满足condition和页面需求的数据
         List<RoleDTO> roleDTOs = roleMapper.listRoles(PageUtil.getLimitCurrent(), PageUtil.getSize(), conditionVO);
 
         // 此时asyncCount.get()则是当前页码数据条数
-        return new PageResultDTO<>(roleDTOs, asyncCount.get());
+        return new PageResultDTO<>(roleDTOs, asyncCount.get(ASYNC_TIMEOUT, TimeUnit.SECONDS));
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -133,6 +142,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
             throw new BizException("该角色下存在用户");
         }
         roleMapper.deleteBatchIds(roleIdList);
+        filterInvocationSecurityMetadataSource.clearDataSource();
     }
 
 }
@@ -8,6 +8,9 @@ import com.aurora.entity.Tag;
 import com.aurora.exception.BizException;
 import com.aurora.mapper.ArticleTagMapper;
 import com.aurora.mapper.TagMapper;
+import com.aurora.service.ArticleCacheService;
+import com.aurora.service.ArticleCardService;
+import com.aurora.service.HomeInfoSnapshotService;
 import com.aurora.service.TagService;
 import com.aurora.util.BeanCopyUtil;
 import com.aurora.util.PageUtil;
@@ -33,6 +36,15 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
     @Autowired
     private ArticleTagMapper articleTagMapper;
 
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
+    @Autowired
+    private ArticleCardService articleCardService;
+
+    @Autowired
+    private HomeInfoSnapshotService homeInfoSnapshotService;
+
     @Override
     public List<TagDTO> listTags() {
         return tagMapper.listTags();
@@ -79,6 +91,12 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         }
         Tag tag = BeanCopyUtil.copyObject(tagVO, Tag.class);
         this.saveOrUpdate(tag);
+        if (Objects.nonNull(tagVO.getId())) {
+            articleCardService.refreshArticleCardsByTagId(tagVO.getId());
+        } else {
+            homeInfoSnapshotService.incrTagCount(1);
+        }
+        articleCacheService.evictAll();
     }
 
     @Override
@@ -88,7 +106,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         if (count > 0) {
             throw new BizException("删除失败，该标签下存在文章");
         }
-        tagMapper.deleteBatchIds(tagIds);
+        homeInfoSnapshotService.incrTagCount(-tagMapper.deleteBatchIds(tagIds));
     }
 
 }
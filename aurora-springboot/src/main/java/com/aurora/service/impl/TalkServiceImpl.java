@@ -9,6 +9,7 @@ import com.aurora.entity.Talk;
 import com.aurora.exception.BizException;
 import com.aurora.mapper.CommentMapper;
 import com.aurora.mapper.TalkMapper;
+import com.aurora.service.HomeInfoSnapshotService;
 import com.aurora.service.TalkService;
 
 import com.aurora.util.BeanCopyUtil;
@@ -40,6 +41,9 @@ public class TalkServiceImpl extends ServiceImpl<TalkMapper, Talk> implements Ta
     @Autowired
     private CommentMapper commentMapper;
 
+    @Autowired
+    private HomeInfoSnapshotService homeInfoSnapshotService;
+
     @Override
     public PageResultDTO<TalkDTO> listTalks() {
         Integer count = talkMapper.selectCount((new LambdaQueryWrapper<Talk>()
@@ -88,11 +92,14 @@ public class TalkServiceImpl extends ServiceImpl<TalkMapper, Talk> implements Ta
         Talk talk = BeanCopyUtil.copyObject(talkVO, Talk.class);
         talk.setUserId(UserUtil.getUserDetailsDTO().getUserInfoId());
         this.saveOrUpdate(talk);
+        if (Objects.isNull(talkVO.getId())) {
+            homeInfoSnapshotService.incrTalkCount(1);
+        }
     }
 
     @Override
     public void deleteTalks(List<Integer> talkIds) {
-        talkMapper.deleteBatchIds(talkIds);
+        homeInfoSnapshotService.incrTalkCount(-talkMapper.deleteBatchIds(talkIds));
     }
 
     /**
@@ -1,34 +1,110 @@
 package com.aurora.service.impl;
 
+import com.aurora.model.dto.PageResultDTO;
 import com.aurora.model.dto.UserDetailsDTO;
 import com.aurora.service.RedisService;
 import com.aurora.service.TokenService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import javax.servlet.http.HttpServletRequest;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.aurora.constant.AuthConstant.*;
+import static com.aurora.constant.RedisConstant.LEGACY_LOGIN_USER;
 import static com.aurora.constant.RedisConstant.LOGIN_USER;
+import static com.aurora.constant.RedisConstant.LOGIN_USER_INDEX;
+import static com.aurora.constant.RedisConstant.LOGIN_USER_CHANNEL;
 
 
+@Slf4j
 @Service
 public class TokenServiceImpl implements TokenService {
 
+    private static final long LOCAL_MAXIMUM_SIZE = 10000;
+
+    private static final long LOCAL_EXPIRE_TIME = 30;
+
+    private static final int SCAN_BATCH_SIZE = 100;
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RENEW_SCRIPT = RedisScript.of(new ClassPathResource("lua/login_user_renew.lua"), List.class);
+
+    private final SecretKey secretKey = generalKey();
+
+    /**
+     * 已校验过签名的 token 与登录用户的对应关系，命中时无需再次验签和查询 redis
+     */
+    private final Cache<String, UserDetailsDTO> loginUserCache = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .expireAfterWrite(LOCAL_EXPIRE_TIME, TimeUnit.SECONDS)
+            .build();
+
     @Autowired
     private RedisService redisService;
 
+    @Value("${token.renew-threshold:1200}")
+    private long renewThreshold;
+
+    @Value("${token.metrics-interval:60}")
+    private long metricsInterval;
+
+    /**
+     * 本节点已知的各会话过期时间戳，剩余有效期高于续期阈值时无需访问 redis
+     */
+    private final Cache<Integer, Long> expireTimes = Caffeine.newBuilder()
+            .maximumSize(LOCAL_MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRE_TIME, TimeUnit.SECONDS)
+            .build();
+
+    private final LongAdder renewChecks = new LongAdder();
+
+    private final LongAdder renewWrites = new LongAdder();
+
+    private ScheduledExecutorService metricsExecutor;
+
+    @PostConstruct
+    public void init() {
+        migrateLegacyLoginUsers();
+        metricsExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("token-metrics-thread-"));
+        metricsExecutor.scheduleAtFixedRate(this::reportRenewMetrics, metricsInterval, metricsInterval, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        metricsExecutor.shutdown();
+    }
+
     @Override
     public String createToken(UserDetailsDTO userDetailsDTO) {
         refreshToken(userDetailsDTO);
@@ -39,7 +115,6 @@ public class TokenServiceImpl implements TokenService {
     @Override
     public String createToken(String subject) {
         SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.HS256;
-        SecretKey secretKey = generalKey();
         return Jwts.builder().setId(getUuid()).setSubject(subject)
                 .setIssuer("huaweimian")
                 .signWith(signatureAlgorithm, secretKey).compact();
@@ -47,24 +122,45 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public void refreshToken(UserDetailsDTO userDetailsDTO) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        userDetailsDTO.setExpireTime(currentTime.plusSeconds(EXPIRE_TIME));
-        String userId = userDetailsDTO.getId().toString();
-        redisService.hSet(LOGIN_USER, userId, userDetailsDTO, EXPIRE_TIME);
+        // 过期时间只记录在索引的 score 中，会话内容里不再保存，避免续期后读到旧值
+        userDetailsDTO.setExpireTime(null);
+        Integer userId = userDetailsDTO.getId();
+        long expireAt = System.currentTimeMillis() + EXPIRE_TIME * 1000L;
+        redisService.set(LOGIN_USER + userId, userDetailsDTO, EXPIRE_TIME);
+        redisService.zAdd(LOGIN_USER_INDEX, userId, expireAt);
+        expireTimes.put(userId, expireAt);
     }
 
+    /**
+     * 剩余有效期低于续期阈值时才续期，续期只重置会话 key 的过期时间和索引中的过期时间戳，不重写用户信息；
+     * 是否续期由脚本在 redis 中原子判断，多个节点同时到达阈值也只续期一次
+     * @param userDetailsDTO 登录用户
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public void renewToken(UserDetailsDTO userDetailsDTO) {
-        LocalDateTime expireTime = userDetailsDTO.getExpireTime();
-        LocalDateTime currentTime = LocalDateTime.now();
-        if (Duration.between(currentTime, expireTime).toMinutes() <= TWENTY_MINUTES) {
-            refreshToken(userDetailsDTO);
+        renewChecks.increment();
+        Integer userId = userDetailsDTO.getId();
+        long now = System.currentTimeMillis();
+        long threshold = renewThreshold * 1000L;
+        Long expireAt = expireTimes.getIfPresent(userId);
+        if (Objects.nonNull(expireAt) && expireAt - now >= threshold) {
+            return;
+        }
+        List<Long> result = redisService.execute(RENEW_SCRIPT, Arrays.asList(LOGIN_USER + userId, LOGIN_USER_INDEX),
+                userId, now, threshold, EXPIRE_TIME);
+        if (result.get(0) == 1) {
+            renewWrites.increment();
+        }
+        if (result.get(1) > 0) {
+            expireTimes.put(userId, result.get(1));
+        } else {
+            expireTimes.invalidate(userId);
         }
     }
 
     @Override
     public Claims parseToken(String token) {
-        SecretKey secretKey = generalKey();
         return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody();
     }
 
@@ -78,11 +174,13 @@ public class TokenServiceImpl implements TokenService {
         // 如果 request 里的 Authorization 不为空则赋值给 token，为空则 将 "" 赋给token；并且会将 `Bearer` 替换成 ""
         String token = Optional.ofNullable(request.getHeader(TOKEN_HEADER)).orElse("").replaceFirst(TOKEN_PREFIX, "");
 
-        // token 不为空，解析 token 获取userId，并将从 redis 查询用户信息 `UserDetailsDTO` 返回
+        // token 不为空，优先从本地缓存获取；未命中时解析 token 获取userId，并将从 redis 查询用户信息 `UserDetailsDTO` 返回
         if (StringUtils.hasText(token) && !token.equals("null")) {
-            Claims claims = parseToken(token);
-            String userId = claims.getSubject();
-            return (UserDetailsDTO) redisService.hGet(LOGIN_USER, userId);
+            return loginUserCache.get(token, key -> {
+                Claims claims = parseToken(key);
+                String userId = claims.getSubject();
+                return (UserDetailsDTO) redisService.get(LOGIN_USER + userId);
+            });
         }
 
         // token 为空
@@ -91,7 +189,123 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public void delLoginUser(Integer userId) {
-        redisService.hDel(LOGIN_USER, String.valueOf(userId));
+        redisService.executePipelined(batch -> {
+            batch.del(LOGIN_USER + userId);
+            batch.zRemove(LOGIN_USER_INDEX, userId);
+        });
+        evictLocalLoginUser(userId);
+        redisService.convertAndSend(LOGIN_USER_CHANNEL, userId);
+    }
+
+    /**
+     * 清除本地缓存中该用户的所有 token，由下线操作或 redis 下线频道的消息触发
+     * @param userId 用户id
+     */
+    @Override
+    public void evictLocalLoginUser(Integer userId) {
+        loginUserCache.asMap().values().removeIf(userDetailsDTO -> userDetailsDTO.getId().equals(userId));
+        expireTimes.invalidate(userId);
+    }
+
+    /**
+     * 按会话过期时间倒序分页查询在线用户，有关键词时分批遍历索引过滤昵称
+     * @param keywords 昵称关键词
+     * @param fromIndex 当前页首条数据的索引
+     * @param size 条数
+     * @return PageResultDTO<UserDetailsDTO>
+     */
+    @Override
+    public PageResultDTO<UserDetailsDTO> listLoginUsers(String keywords, long fromIndex, long size) {
+        redisService.zRemoveRangeByScore(LOGIN_USER_INDEX, 0, System.currentTimeMillis());
+        List<UserDetailsDTO> loginUsers = new ArrayList<>();
+        List<Object> expiredUserIds = new ArrayList<>();
+        if (!StringUtils.hasText(keywords)) {
+            scanLoginUsers(fromIndex, fromIndex + size - 1, loginUsers, expiredUserIds);
+            removeExpiredUserIds(expiredUserIds);
+            return new PageResultDTO<>(loginUsers, redisService.zSize(LOGIN_USER_INDEX).intValue());
+        }
+        int count = 0;
+        for (long start = 0; ; start += SCAN_BATCH_SIZE) {
+            List<UserDetailsDTO> batch = new ArrayList<>();
+            if (!scanLoginUsers(start, start + SCAN_BATCH_SIZE - 1, batch, expiredUserIds)) {
+                break;
+            }
+            for (UserDetailsDTO userDetailsDTO : batch) {
+                if (userDetailsDTO.getNickname().contains(keywords)) {
+                    if (count >= fromIndex && count < fromIndex + size) {
+                        loginUsers.add(userDetailsDTO);
+                    }
+                    count++;
+                }
+            }
+        }
+        removeExpiredUserIds(expiredUserIds);
+        return new PageResultDTO<>(loginUsers, count);
+    }
+
+    /**
+     * 读取索引中指定排名范围内的会话，过期时间取自索引的 score
+     * @return 索引在该范围内是否还有数据
+     */
+    private boolean scanLoginUsers(long start, long end, List<UserDetailsDTO> loginUsers, List<Object> expiredUserIds) {
+        Map<Object, Double> expireTimeMap = redisService.zReverseRangeWithScore(LOGIN_USER_INDEX, start, end);
+        if (expireTimeMap.isEmpty()) {
+            return false;
+        }
+        List<Object> userIds = new ArrayList<>(expireTimeMap.keySet());
+        List<String> keys = new ArrayList<>(userIds.size());
+        userIds.forEach(userId -> keys.add(LOGIN_USER + userId));
+        List<Object> sessions = redisService.mGet(keys);
+        for (int i = 0; i < userIds.size(); i++) {
+            UserDetailsDTO userDetailsDTO = (UserDetailsDTO) sessions.get(i);
+            if (Objects.isNull(userDetailsDTO)) {
+                expiredUserIds.add(userIds.get(i));
+            } else {
+                long expireAt = expireTimeMap.get(userIds.get(i)).longValue();
+                userDetailsDTO.setExpireTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(expireAt), ZoneId.systemDefault()));
+                loginUsers.add(userDetailsDTO);
+            }
+        }
+        return true;
+    }
+
+    private void removeExpiredUserIds(List<Object> expiredUserIds) {
+        if (!expiredUserIds.isEmpty()) {
+            redisService.zRemove(LOGIN_USER_INDEX, expiredUserIds.toArray());
+        }
+    }
+
+    /**
+     * 将旧版本保存在 login_user 哈希中的会话迁移为独立的会话 key，已在新结构中登录过的用户不覆盖，迁移后删除哈希
+     */
+    private void migrateLegacyLoginUsers() {
+        Map<String, Object> legacyLoginUsers = redisService.hGetAll(LEGACY_LOGIN_USER);
+        if (legacyLoginUsers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        legacyLoginUsers.forEach((userId, value) -> {
+            UserDetailsDTO userDetailsDTO = (UserDetailsDTO) value;
+            LocalDateTime expireTime = userDetailsDTO.getExpireTime();
+            if (Objects.isNull(expireTime) || !expireTime.isAfter(now) || redisService.hasKey(LOGIN_USER + userId)) {
+                return;
+            }
+            long expireAt = expireTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            userDetailsDTO.setExpireTime(null);
+            redisService.set(LOGIN_USER + userId, userDetailsDTO, Duration.between(now, expireTime).getSeconds() + 1);
+            redisService.zAdd(LOGIN_USER_INDEX, userDetailsDTO.getId(), expireAt);
+        });
+        redisService.del(LEGACY_LOGIN_USER);
+        log.info("migrated {} legacy login users", legacyLoginUsers.size());
+    }
+
+    private void reportRenewMetrics() {
+        long checks = renewChecks.sumThenReset();
+        long writes = renewWrites.sumThenReset();
+        if (checks > 0) {
+            log.info("session renew in last {}s: checks={}, writes={}, write rate={}%",
+                    metricsInterval, checks, writes, writes * 100 / checks);
+        }
     }
 
     public String getUuid() {
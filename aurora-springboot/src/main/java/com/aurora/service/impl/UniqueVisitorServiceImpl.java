@@ -0,0 +1,104 @@
+package com.aurora.service.impl;
+
+import com.aurora.service.HomeInfoSnapshotService;
+import com.aurora.service.RedisService;
+import com.aurora.service.UniqueVisitorService;
+import com.aurora.util.IpUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.aurora.constant.CommonConstant.UNKNOWN;
+import static com.aurora.constant.RedisConstant.*;
+
+/**
+ * 独立访客按天记录在 HyperLogLog 中，每个 key 最多占用约 12KB，与访问量无关；
+ * 每天的数据由定时任务合并到周、月汇总，三类 key 都设置了过期时间
+ */
+@Service
+public class UniqueVisitorServiceImpl implements UniqueVisitorService {
+
+    private static final RedisScript<Long> VISITOR_REPORT_SCRIPT = RedisScript.of(new ClassPathResource("lua/visitor_report.lua"), Long.class);
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private RedisService redisService;
+
+    @Autowired
+    private HomeInfoSnapshotService homeInfoSnapshotService;
+
+    @Autowired
+    private HttpServletRequest request;
+
+    /**
+     * 上报访客信息，由脚本原子地完成去重和计数；
+     * PFADD 改变了寄存器即视为新访客，访问量、地区分布与独立访客数一样是近似值
+     */
+    @Override
+    public void report() {
+        String ipSource = IpUtil.getIpSource(IpUtil.getIpAddress(request));
+        String ipProvince = StringUtils.isNotBlank(ipSource) ? IpUtil.getIpProvince(ipSource) : UNKNOWN;
+        Long added = redisService.execute(VISITOR_REPORT_SCRIPT,
+                Arrays.asList(getDailyKey(LocalDate.now()), VISITOR_AREA, BLOG_VIEWS_COUNT),
+                IpUtil.getVisitorId(request), ipProvince, UNIQUE_VISITOR_EXPIRE_TIME);
+        if (Objects.nonNull(added) && added > 0) {
+            homeInfoSnapshotService.incrViewCount(1);
+        }
+    }
+
+    @Override
+    public Long countDailyVisitors(LocalDate date) {
+        return redisService.hyperGet(getDailyKey(date));
+    }
+
+    /**
+     * 周汇总只合并到前一天，统计时再与当天的数据取并集
+     */
+    @Override
+    public Long countWeeklyVisitors(LocalDate date) {
+        return redisService.hyperGet(getWeeklyKey(date), getDailyKey(date));
+    }
+
+    @Override
+    public Long countMonthlyVisitors(LocalDate date) {
+        return redisService.hyperGet(getMonthlyKey(date), getDailyKey(date));
+    }
+
+    /**
+     * 将某一天的访客合并到所在周、月的汇总中，重复合并不影响结果
+     * @param date 日期
+     */
+    @Override
+    public void rollup(LocalDate date) {
+        String dailyKey = getDailyKey(date);
+        String weeklyKey = getWeeklyKey(date);
+        String monthlyKey = getMonthlyKey(date);
+        redisService.hyperUnion(weeklyKey, dailyKey);
+        redisService.expire(weeklyKey, UNIQUE_VISITOR_WEEK_EXPIRE_TIME);
+        redisService.hyperUnion(monthlyKey, dailyKey);
+        redisService.expire(monthlyKey, UNIQUE_VISITOR_MONTH_EXPIRE_TIME);
+    }
+
+    private static String getDailyKey(LocalDate date) {
+        return UNIQUE_VISITOR + date.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    private static String getWeeklyKey(LocalDate date) {
+        return UNIQUE_VISITOR_WEEK + String.format("%dW%02d", date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    private static String getMonthlyKey(LocalDate date) {
+        return UNIQUE_VISITOR_MONTH + date.format(MONTH_FORMATTER);
+    }
+
+}
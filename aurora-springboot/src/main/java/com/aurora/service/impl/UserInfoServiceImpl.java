@@ -11,6 +11,8 @@ import com.aurora.enums.FilePathEnum;
 import com.aurora.exception.BizException;
 import com.aurora.mapper.UserAuthMapper;
 import com.aurora.mapper.UserInfoMapper;
+import com.aurora.service.ArticleCacheService;
+import com.aurora.service.ArticleCardService;
 import com.aurora.service.RedisService;
 import com.aurora.service.TokenService;
 import com.aurora.service.UserInfoService;
@@ -57,6 +59,12 @@ public class UserInfoServiceImpl extends ServiceImpl<UserInfoMapper, UserInfo> i
     @Autowired
     private UploadStrategyContext uploadStrategyContext;
 
+    @Autowired
+    private ArticleCardService articleCardService;
+
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
     @Value("upload.minio.bucketName")
     private String bucketName;
 
@@ -71,6 +79,8 @@ public class UserInfoServiceImpl extends ServiceImpl<UserInfoMapper, UserInfo> i
                 .website(userInfoVO.getWebsite())
                 .build();
         userInfoMapper.updateById(userInfo);
+        articleCardService.refreshArticleCardsByUserId(userInfo.getId());
+        articleCacheService.evictAll();
     }
 
     @Override
@@ -81,6 +91,8 @@ public class UserInfoServiceImpl extends ServiceImpl<UserInfoMapper, UserInfo> i
                 .avatar(avatar)
                 .build();
         userInfoMapper.updateById(userInfo);
+        articleCardService.refreshArticleCardsByUserId(userInfo.getId());
+        articleCacheService.evictAll();
         return avatar;
     }
 
@@ -150,30 +162,10 @@ public class UserInfoServiceImpl extends ServiceImpl<UserInfoMapper, UserInfo> i
      */
     @Override
     public PageResultDTO<UserOnlineDTO> listOnlineUsers(ConditionVO conditionVO) {
-        // 从 redis 查询所有 login_user 并用 Map 封装
-        Map<String, Object> userMaps = redisService.hGetAll("login_user");
-        // 将 userMaps 转化为 List<UserOnlineDTO>
-        Collection<Object> values = userMaps.values();
-        ArrayList<UserDetailsDTO> userDetailsDTOs = new ArrayList<>();
-        for (Object value : values) {
-            userDetailsDTOs.add((UserDetailsDTO) value);
-        }
-        List<UserOnlineDTO> userOnlineDTOs = BeanCopyUtil.copyList(userDetailsDTOs, UserOnlineDTO.class);
-
-        // 如果查询条件有 keywords，将 userOnlineDTOs 的不符合 keywords 的数据过滤掉，如果没有，则不用过滤，然后根据登录时间逆序排序
-        List<UserOnlineDTO> onlineUsers = userOnlineDTOs.stream()
-                .filter(item -> StringUtils.isBlank(conditionVO.getKeywords()) || item.getNickname().contains(conditionVO.getKeywords()))
-                .sorted(Comparator.comparing(UserOnlineDTO::getLastLoginTime).reversed())
-                .collect(Collectors.toList());
-        // 当前页首条数据的索引
-        int fromIndex = getLimitCurrent().intValue();
-        // 当前页应该显示的条数
-        int size = getSize().intValue();
-        // 当前页最后一条数据的索引
-        int toIndex = onlineUsers.size() - fromIndex > size ? fromIndex + size : onlineUsers.size();
-        // 截取当前页需要显示的数据
-        List<UserOnlineDTO> userOnlineList = onlineUsers.subList(fromIndex, toIndex);
-        return new PageResultDTO<>(userOnlineList, onlineUsers.size());
+        // 按最近活跃时间倒序从会话索引中分页读取，不再一次性取出全部登录用户
+        PageResultDTO<UserDetailsDTO> loginUsers = tokenService.listLoginUsers(conditionVO.getKeywords(), getLimitCurrent(), getSize());
+        List<UserOnlineDTO> userOnlineList = BeanCopyUtil.copyList(loginUsers.getRecords(), UserOnlineDTO.class);
+        return new PageResultDTO<>(userOnlineList, loginUsers.getCount());
     }
 
     @Override
@@ -1,11 +1,17 @@
 package com.aurora.strategy;
 
 import com.aurora.model.dto.ArticleSearchDTO;
-
-import java.util.List;
+import com.aurora.model.dto.PageResultDTO;
 
 public interface SearchStrategy {
 
-    List<ArticleSearchDTO> searchArticle(String keywords);
+    /**
+     * 分页搜索文章
+     * @param keywords 关键词
+     * @param current 页码，从 1 开始
+     * @param size 每页条数
+     * @return 当前页结果及命中总数
+     */
+    PageResultDTO<ArticleSearchDTO> searchArticle(String keywords, Long current, Long size);
 
 }
@@ -1,27 +1,99 @@
 package com.aurora.strategy.context;
 
 import com.aurora.model.dto.ArticleSearchDTO;
+import com.aurora.model.dto.PageResultDTO;
+import com.aurora.model.dto.SearchCacheStatsDTO;
+import com.aurora.service.RedisService;
 import com.aurora.strategy.SearchStrategy;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import javax.annotation.PostConstruct;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static com.aurora.constant.RedisConstant.ARTICLE_VERSION_CHANNEL;
 import static com.aurora.enums.SearchModeEnum.getStrategy;
 
+/**
+ * 搜索结果按规范化后的关键词和页码缓存在本地，缓存 key 带有文章版本号，
+ * 文章写入或 maxwell 同步后版本号加一并通知其他实例，旧版本的结果不再命中
+ */
 @Service
 public class SearchStrategyContext {
 
     @Value("${search.mode}")
     private String searchMode;
 
+    @Value("${search.cache.maximum-size:1000}")
+    private long cacheMaximumSize;
+
+    @Value("${search.cache.expire-after-write:600}")
+    private long cacheExpireAfterWrite;
+
     @Autowired
     private Map<String, SearchStrategy> searchStrategyMap;
 
-    public List<ArticleSearchDTO> executeSearchStrategy(String keywords) {
-        return searchStrategyMap.get(getStrategy(searchMode)).searchArticle(keywords);
+    @Autowired
+    private RedisService redisService;
+
+    private final AtomicLong articleVersion = new AtomicLong();
+
+    private Cache<String, PageResultDTO<ArticleSearchDTO>> searchCache;
+
+    @PostConstruct
+    public void init() {
+        searchCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(cacheExpireAfterWrite, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public PageResultDTO<ArticleSearchDTO> executeSearchStrategy(String keywords, Long current, Long size) {
+        SearchStrategy searchStrategy = searchStrategyMap.get(getStrategy(searchMode));
+        if (StringUtils.isBlank(keywords)) {
+            return searchStrategy.searchArticle(keywords, current, size);
+        }
+        // 版本号在查询前读取，查询期间文章发生变更时结果写入旧版本的 key，不会被后续请求读到；
+        // 策略查询失败时异常直接抛出，Caffeine 不会缓存失败的加载
+        String key = articleVersion.get() + ":" + current + ":" + size + ":" + normalize(keywords);
+        return searchCache.get(key, k -> searchStrategy.searchArticle(keywords, current, size));
+    }
+
+    /**
+     * 文章发生变更，使本实例和其他实例的搜索缓存失效
+     */
+    public void publishArticleChange() {
+        evictSearchCache();
+        redisService.convertAndSend(ARTICLE_VERSION_CHANNEL, articleVersion.get());
+    }
+
+    public void evictSearchCache() {
+        articleVersion.incrementAndGet();
+        searchCache.invalidateAll();
+    }
+
+    public SearchCacheStatsDTO getSearchCacheStats() {
+        CacheStats stats = searchCache.stats();
+        return SearchCacheStatsDTO.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .size(searchCache.estimatedSize())
+                .articleVersion(articleVersion.get())
+                .build();
+    }
+
+    private static String normalize(String keywords) {
+        return keywords.trim().replaceAll("\\s+", " ").toLowerCase();
     }
 
 }
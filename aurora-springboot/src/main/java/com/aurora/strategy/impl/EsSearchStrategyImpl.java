@@ -1,14 +1,15 @@
 package com.aurora.strategy.impl;
 
 import com.aurora.model.dto.ArticleSearchDTO;
+import com.aurora.model.dto.PageResultDTO;
 import com.aurora.strategy.SearchStrategy;
 import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
-import lombok.extern.log4j.Log4j2;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
@@ -21,7 +22,6 @@ import java.util.stream.Collectors;
 import static com.aurora.constant.CommonConstant.*;
 import static com.aurora.enums.ArticleStatusEnum.PUBLIC;
 
-@Log4j2
 @Service("esSearchStrategyImpl")
 public class EsSearchStrategyImpl implements SearchStrategy {
 
@@ -29,11 +29,13 @@ public class EsSearchStrategyImpl implements SearchStrategy {
     private ElasticsearchRestTemplate elasticsearchRestTemplate;
 
     @Override
-    public List<ArticleSearchDTO> searchArticle(String keywords) {
+    public PageResultDTO<ArticleSearchDTO> searchArticle(String keywords, Long current, Long size) {
         if (StringUtils.isBlank(keywords)) {
-            return new ArrayList<>();
+            return new PageResultDTO<>(new ArrayList<>(), 0);
         }
-        return search(buildQuery(keywords));
+        NativeSearchQueryBuilder nativeSearchQueryBuilder = buildQuery(keywords);
+        nativeSearchQueryBuilder.withPageable(PageRequest.of((int) (current - 1), size.intValue()));
+        return search(nativeSearchQueryBuilder);
     }
 
     private NativeSearchQueryBuilder buildQuery(String keywords) {
@@ -47,7 +49,7 @@ public class EsSearchStrategyImpl implements SearchStrategy {
         return nativeSearchQueryBuilder;
     }
 
-    private List<ArticleSearchDTO> search(NativeSearchQueryBuilder nativeSearchQueryBuilder) {
+    private PageResultDTO<ArticleSearchDTO> search(NativeSearchQueryBuilder nativeSearchQueryBuilder) {
         HighlightBuilder.Field titleField = new HighlightBuilder.Field("articleTitle");
         titleField.preTags(PRE_TAG);
         titleField.postTags(POST_TAG);
@@ -56,24 +58,21 @@ public class EsSearchStrategyImpl implements SearchStrategy {
         contentField.postTags(POST_TAG);
         contentField.fragmentSize(50);
         nativeSearchQueryBuilder.withHighlightFields(titleField, contentField);
-        try {
-            SearchHits<ArticleSearchDTO> search = elasticsearchRestTemplate.search(nativeSearchQueryBuilder.build(), ArticleSearchDTO.class);
-            return search.getSearchHits().stream().map(hit -> {
-                ArticleSearchDTO article = hit.getContent();
-                List<String> titleHighLightList = hit.getHighlightFields().get("articleTitle");
-                if (CollectionUtils.isNotEmpty(titleHighLightList)) {
-                    article.setArticleTitle(titleHighLightList.get(0));
-                }
-                List<String> contentHighLightList = hit.getHighlightFields().get("articleContent");
-                if (CollectionUtils.isNotEmpty(contentHighLightList)) {
-                    article.setArticleContent(contentHighLightList.get(contentHighLightList.size() - 1));
-                }
-                return article;
-            }).collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error(e.getMessage());
-        }
-        return new ArrayList<>();
+        // 查询失败时直接抛出，不能返回空结果，否则会被搜索缓存当作"无结果"缓存下来
+        SearchHits<ArticleSearchDTO> search = elasticsearchRestTemplate.search(nativeSearchQueryBuilder.build(), ArticleSearchDTO.class);
+        List<ArticleSearchDTO> articleSearchDTOs = search.getSearchHits().stream().map(hit -> {
+            ArticleSearchDTO article = hit.getContent();
+            List<String> titleHighLightList = hit.getHighlightFields().get("articleTitle");
+            if (CollectionUtils.isNotEmpty(titleHighLightList)) {
+                article.setArticleTitle(titleHighLightList.get(0));
+            }
+            List<String> contentHighLightList = hit.getHighlightFields().get("articleContent");
+            if (CollectionUtils.isNotEmpty(contentHighLightList)) {
+                article.setArticleContent(contentHighLightList.get(contentHighLightList.size() - 1));
+            }
+            return article;
+        }).collect(Collectors.toList());
+        return new PageResultDTO<>(articleSearchDTOs, (int) search.getTotalHits());
     }
 
 }
@@ -0,0 +1,71 @@
+package com.aurora.strategy.impl;
+
+import com.aurora.mapper.ArticleMapper;
+import com.aurora.model.dto.ArticleSearchDTO;
+import com.aurora.model.dto.PageResultDTO;
+import com.aurora.strategy.SearchStrategy;
+import com.aurora.util.Highlighter;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 基于 t_article 上 ngram 分词的 FULLTEXT 索引搜索，按相关度排序
+ */
+@Service("fullTextSearchStrategyImpl")
+public class FullTextSearchStrategyImpl implements SearchStrategy {
+
+    /**
+     * 与 MySQL 的 ngram_token_size 默认值一致
+     */
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    /**
+     * BOOLEAN MODE 中短语之外具有特殊含义的字符
+     */
+    private static final Pattern BOOLEAN_OPERATORS = Pattern.compile("[+\\-<>()~*\"@]");
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Override
+    public PageResultDTO<ArticleSearchDTO> searchArticle(String keywords, Long current, Long size) {
+        String keyword = StringUtils.isBlank(keywords) ? "" : keywords.trim().replace("\"", "");
+        if (keyword.isEmpty()) {
+            return new PageResultDTO<>(new ArrayList<>(), 0);
+        }
+        String booleanQuery = toBooleanQuery(keyword);
+        if (booleanQuery.isEmpty()) {
+            return new PageResultDTO<>(new ArrayList<>(), 0);
+        }
+        Integer count = articleMapper.countArticlesByFullText(booleanQuery);
+        if (count == 0) {
+            return new PageResultDTO<>(new ArrayList<>(), 0);
+        }
+        List<ArticleSearchDTO> articles = articleMapper.searchArticlesByFullText(booleanQuery, (current - 1) * size, size);
+        Highlighter highlighter = Highlighter.compile(keyword);
+        articles.forEach(item -> {
+            item.setArticleTitle(highlighter.highlight(item.getArticleTitle()));
+            item.setArticleContent(highlighter.snippet(item.getArticleContent()));
+        });
+        return new PageResultDTO<>(articles, count);
+    }
+
+    /**
+     * 关键词整体作为短语匹配，短语内的运算符按字面处理；短于 ngram 长度的关键词无法按短语命中，改用前缀匹配，
+     * 此时关键词不在短语内，需去掉其中的运算符
+     * @return 布尔查询，去掉运算符后没有可检索的内容时返回空字符串
+     */
+    private static String toBooleanQuery(String keyword) {
+        if (keyword.length() < NGRAM_TOKEN_SIZE) {
+            String term = BOOLEAN_OPERATORS.matcher(keyword).replaceAll("");
+            return term.isEmpty() ? "" : term + "*";
+        }
+        return "\"" + keyword + "\"";
+    }
+
+}
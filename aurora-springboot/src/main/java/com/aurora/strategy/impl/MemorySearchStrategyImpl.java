@@ -0,0 +1,21 @@
+package com.aurora.strategy.impl;
+
+import com.aurora.model.dto.ArticleSearchDTO;
+import com.aurora.model.dto.PageResultDTO;
+import com.aurora.service.ArticleSearchIndexService;
+import com.aurora.strategy.SearchStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service("memorySearchStrategyImpl")
+public class MemorySearchStrategyImpl implements SearchStrategy {
+
+    @Autowired
+    private ArticleSearchIndexService articleSearchIndexService;
+
+    @Override
+    public PageResultDTO<ArticleSearchDTO> searchArticle(String keywords, Long current, Long size) {
+        return articleSearchIndexService.search(keywords, current, size);
+    }
+
+}
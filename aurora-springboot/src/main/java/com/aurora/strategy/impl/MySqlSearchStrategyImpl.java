@@ -3,15 +3,17 @@ package com.aurora.strategy.impl;
 import com.aurora.entity.Article;
 import com.aurora.mapper.ArticleMapper;
 import com.aurora.model.dto.ArticleSearchDTO;
+import com.aurora.model.dto.PageResultDTO;
 import com.aurora.strategy.SearchStrategy;
+import com.aurora.util.Highlighter;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static com.aurora.constant.CommonConstant.*;
@@ -24,62 +26,36 @@ public class MySqlSearchStrategyImpl implements SearchStrategy {
     private ArticleMapper articleMapper;
 
     @Override
-    public List<ArticleSearchDTO> searchArticle(String keywords) {
+    public PageResultDTO<ArticleSearchDTO> searchArticle(String keywords, Long current, Long size) {
         if (StringUtils.isBlank(keywords)) {
-            return new ArrayList<>();
+            return new PageResultDTO<>(new ArrayList<>(), 0);
         }
-        List<Article> articles = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+        String keyword = keywords.trim();
+        String likeKeyword = escapeLike(keyword);
+        Page<Article> page = articleMapper.selectPage(new Page<>(current, size), new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getArticleTitle, Article::getArticleContent)
                 .eq(Article::getIsDelete, FALSE)
                 .eq(Article::getStatus, PUBLIC.getStatus())
-                .and(i -> i.like(Article::getArticleTitle, keywords)
+                .and(i -> i.like(Article::getArticleTitle, likeKeyword)
                         .or()
-                        .like(Article::getArticleContent, keywords)));
-        return articles.stream().map(item -> {
-                    boolean isLowerCase = true;
-                    String articleContent = item.getArticleContent();
-                    int contentIndex = item.getArticleContent().indexOf(keywords.toLowerCase());
-                    if (contentIndex == -1) {
-                        contentIndex = item.getArticleContent().indexOf(keywords.toUpperCase());
-                        if (contentIndex != -1) {
-                            isLowerCase = false;
-                        }
-                    }
-                    if (contentIndex != -1) {
-                        int preIndex = contentIndex > 15 ? contentIndex - 15 : 0;
-                        String preText = item.getArticleContent().substring(preIndex, contentIndex);
-                        int last = contentIndex + keywords.length();
-                        int postLength = item.getArticleContent().length() - last;
-                        int postIndex = postLength > 35 ? last + 35 : last + postLength;
-                        String postText = item.getArticleContent().substring(contentIndex, postIndex);
-                        if (isLowerCase) {
-                            articleContent = (preText + postText).replaceAll(keywords.toLowerCase(), PRE_TAG + keywords.toLowerCase() + POST_TAG);
-                        } else {
-                            articleContent = (preText + postText).replaceAll(keywords.toUpperCase(), PRE_TAG + keywords.toUpperCase() + POST_TAG);
-                        }
-                    } else {
-                        return null;
-                    }
-                    isLowerCase = true;
-                    int titleIndex = item.getArticleTitle().indexOf(keywords.toLowerCase());
-                    if (titleIndex == -1) {
-                        titleIndex = item.getArticleTitle().indexOf(keywords.toUpperCase());
-                        if (titleIndex != -1) {
-                            isLowerCase = false;
-                        }
-                    }
-                    String articleTitle;
-                    if (isLowerCase) {
-                        articleTitle = item.getArticleTitle().replaceAll(keywords.toLowerCase(), PRE_TAG + keywords.toLowerCase() + POST_TAG);
-                    } else {
-                        articleTitle = item.getArticleTitle().replaceAll(keywords.toUpperCase(), PRE_TAG + keywords.toUpperCase() + POST_TAG);
-                    }
-                    return ArticleSearchDTO.builder()
-                            .id(item.getId())
-                            .articleTitle(articleTitle)
-                            .articleContent(articleContent)
-                            .build();
-                }).filter(Objects::nonNull)
+                        .like(Article::getArticleContent, likeKeyword))
+                .orderByDesc(Article::getId));
+        Highlighter highlighter = Highlighter.compile(keyword);
+        List<ArticleSearchDTO> articleSearchDTOs = page.getRecords().stream()
+                .map(item -> ArticleSearchDTO.builder()
+                        .id(item.getId())
+                        .articleTitle(highlighter.highlight(item.getArticleTitle()))
+                        .articleContent(highlighter.snippet(item.getArticleContent()))
+                        .build())
                 .collect(Collectors.toList());
+        return new PageResultDTO<>(articleSearchDTOs, (int) page.getTotal());
+    }
+
+    /**
+     * 转义 like 中的通配符，关键词按字面匹配
+     */
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
 }
@@ -0,0 +1,201 @@
+package com.aurora.util;
+
+import java.util.*;
+
+import static com.aurora.constant.CommonConstant.POST_TAG;
+import static com.aurora.constant.CommonConstant.PRE_TAG;
+
+/**
+ * 搜索结果的高亮和摘要：关键词预先编译成 Aho–Corasick 自动机，一次扫描找出全部命中，
+ * 忽略大小写，按字面匹配，不经过正则；相互重叠或相邻的命中合并为一段
+ */
+public class Highlighter {
+
+    private static final int FRAGMENT_LENGTH = 50;
+
+    private static final int FRAGMENT_PRE_LENGTH = 15;
+
+    private static final int MAX_FRAGMENTS = 2;
+
+    private static final String FRAGMENT_SEPARATOR = "...";
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+    private int[] fails;
+
+    /**
+     * 以该状态结尾的最长关键词长度，0 表示没有关键词在此结尾
+     */
+    private int[] outputs;
+
+    private Highlighter(Collection<String> keywords) {
+        List<Integer> outputList = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        outputList.add(0);
+        for (String keyword : keywords) {
+            if (Objects.isNull(keyword) || keyword.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                Integer next = transitions.get(state).get(c);
+                if (Objects.isNull(next)) {
+                    next = transitions.size();
+                    transitions.get(state).put(c, next);
+                    transitions.add(new HashMap<>());
+                    outputList.add(0);
+                }
+                state = next;
+            }
+            outputList.set(state, Math.max(outputList.get(state), keyword.length()));
+        }
+        outputs = outputList.stream().mapToInt(Integer::intValue).toArray();
+        buildFails();
+    }
+
+    /**
+     * 编译一组关键词
+     * @param keywords 关键词
+     * @return Highlighter
+     */
+    public static Highlighter compile(Collection<String> keywords) {
+        return new Highlighter(keywords);
+    }
+
+    /**
+     * 按空白拆分查询后编译
+     * @param query 查询
+     * @return Highlighter
+     */
+    public static Highlighter compile(String query) {
+        return new Highlighter(Arrays.asList(query.trim().split("\\s+")));
+    }
+
+    public boolean matches(String text) {
+        return !findSpans(text).isEmpty();
+    }
+
+    /**
+     * 高亮全文
+     * @param text 文本
+     * @return 高亮后的文本
+     */
+    public String highlight(String text) {
+        if (Objects.isNull(text)) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+        appendHighlighted(builder, text, findSpans(text), 0, text.length());
+        return builder.toString();
+    }
+
+    /**
+     * 截取命中词附近的若干片段并高亮，没有命中时返回开头的一段
+     * @param text 文本
+     * @return 摘要
+     */
+    public String snippet(String text) {
+        return snippet(text, MAX_FRAGMENTS, FRAGMENT_LENGTH);
+    }
+
+    public String snippet(String text, int maxFragments, int fragmentLength) {
+        if (Objects.isNull(text)) {
+            return null;
+        }
+        List<int[]> spans = findSpans(text);
+        if (spans.isEmpty()) {
+            return text.substring(0, Math.min(text.length(), fragmentLength));
+        }
+        StringBuilder builder = new StringBuilder();
+        int fragments = 0;
+        int fragmentEnd = -1;
+        for (int[] span : spans) {
+            if (fragments == maxFragments) {
+                break;
+            }
+            if (span[0] < fragmentEnd) {
+                continue;
+            }
+            int start = Math.max(fragmentEnd, Math.max(0, span[0] - FRAGMENT_PRE_LENGTH));
+            int end = Math.max(span[1], Math.min(text.length(), start + fragmentLength));
+            if (fragments > 0 || start > 0) {
+                builder.append(FRAGMENT_SEPARATOR);
+            }
+            appendHighlighted(builder, text, spans, start, end);
+            fragmentEnd = end;
+            fragments++;
+        }
+        if (fragmentEnd < text.length()) {
+            builder.append(FRAGMENT_SEPARATOR);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 一次扫描找出所有命中，返回按位置排序且互不重叠的 [start, end) 区间
+     */
+    private List<int[]> findSpans(String text) {
+        LinkedList<int[]> spans = new LinkedList<>();
+        if (Objects.isNull(text)) {
+            return spans;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            Integer next = transitions.get(state).get(c);
+            while (Objects.isNull(next) && state != 0) {
+                state = fails[state];
+                next = transitions.get(state).get(c);
+            }
+            state = Objects.isNull(next) ? 0 : next;
+            if (outputs[state] == 0) {
+                continue;
+            }
+            int start = i + 1 - outputs[state];
+            int end = i + 1;
+            while (!spans.isEmpty() && spans.getLast()[1] >= start) {
+                int[] last = spans.removeLast();
+                start = Math.min(start, last[0]);
+                end = Math.max(end, last[1]);
+            }
+            spans.add(new int[]{start, end});
+        }
+        return spans;
+    }
+
+    private static void appendHighlighted(StringBuilder builder, String text, List<int[]> spans, int start, int end) {
+        int position = start;
+        for (int[] span : spans) {
+            if (span[1] <= start || span[0] >= end) {
+                continue;
+            }
+            int markStart = Math.max(span[0], start);
+            int markEnd = Math.min(span[1], end);
+            builder.append(text, position, markStart).append(PRE_TAG).append(text, markStart, markEnd).append(POST_TAG);
+            position = markEnd;
+        }
+        builder.append(text, position, end);
+    }
+
+    private void buildFails() {
+        fails = new int[transitions.size()];
+        Deque<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> entry : transitions.get(state).entrySet()) {
+                int child = entry.getValue();
+                int fail = fails[state];
+                Integer next = transitions.get(fail).get(entry.getKey());
+                while (Objects.isNull(next) && fail != 0) {
+                    fail = fails[fail];
+                    next = transitions.get(fail).get(entry.getKey());
+                }
+                fails[child] = Objects.nonNull(next) && next != child ? next : 0;
+                outputs[child] = Math.max(outputs[child], outputs[fails[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+}
@@ -10,6 +10,7 @@ import org.lionsoul.ip2region.DbSearcher;
 import org.lionsoul.ip2region.Util;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.FileCopyUtils;
 
 import javax.annotation.PostConstruct;
@@ -27,6 +28,17 @@ public class IpUtil {
 
     private static Method method;
 
+    /**
+     * 以 ip、浏览器和操作系统区分访客
+     * @param request 请求
+     * @return 访客标识
+     */
+    public static String getVisitorId(HttpServletRequest request) {
+        UserAgent userAgent = getUserAgent(request);
+        String uuid = getIpAddress(request) + userAgent.getBrowser().getName() + userAgent.getOperatingSystem().getName();
+        return DigestUtils.md5DigestAsHex(uuid.getBytes());
+    }
+
     public static String getIpAddress(HttpServletRequest request) {
         String ipAddress = request.getHeader("X-Real-IP");
         if (ipAddress == null || ipAddress.length() == 0 || "unknown".equalsIgnoreCase(ipAddress)) {
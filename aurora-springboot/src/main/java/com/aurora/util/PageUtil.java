@@ -2,12 +2,17 @@ package com.aurora.util;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 public class PageUtil {
 
     private static final ThreadLocal<Page<?>> PAGE_HOLDER = new ThreadLocal<>();
 
+    private static final ThreadLocal<Integer> LAST_ID_HOLDER = new ThreadLocal<>();
+
+    private static final ThreadLocal<LocalDateTime> LAST_CREATE_TIME_HOLDER = new ThreadLocal<>();
+
     public static void setCurrentPage(Page<?> page) {
         PAGE_HOLDER.set(page);
     }
@@ -32,8 +37,26 @@ public class PageUtil {
         return (getCurrent() - 1) * getSize();
     }
 
+    /**
+     * 设置键集分页游标，即上一页最后一条记录的 id 和创建时间
+     */
+    public static void setCursor(Integer lastId, LocalDateTime lastCreateTime) {
+        LAST_ID_HOLDER.set(lastId);
+        LAST_CREATE_TIME_HOLDER.set(lastCreateTime);
+    }
+
+    public static Integer getLastId() {
+        return LAST_ID_HOLDER.get();
+    }
+
+    public static LocalDateTime getLastCreateTime() {
+        return LAST_CREATE_TIME_HOLDER.get();
+    }
+
     public static void remove() {
         PAGE_HOLDER.remove();
+        LAST_ID_HOLDER.remove();
+        LAST_CREATE_TIME_HOLDER.remove();
     }
 
 }
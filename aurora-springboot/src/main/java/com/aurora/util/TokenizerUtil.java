@@ -0,0 +1,93 @@
+package com.aurora.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 搜索分词：连续的字母数字作为一个词，中日韩文字按相邻两字切分（bigram），全部转为小写
+ */
+public class TokenizerUtil {
+
+    /**
+     * 建索引时额外输出单字，使单个汉字的查询也能命中
+     * @param text 文本
+     * @return 带位置的分词结果
+     */
+    public static List<Token> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 查询只输出 bigram，单个汉字的查询才输出单字
+     * @param text 查询文本
+     * @return 带位置的分词结果
+     */
+    public static List<Token> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<Token> tokenize(String text, boolean withUnigrams) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int end = i;
+                while (end < length && isCjk(text.charAt(end))) {
+                    end++;
+                }
+                if (end - i == 1) {
+                    tokens.add(new Token(String.valueOf(c), i, end));
+                }
+                for (int j = i; j < end - 1; j++) {
+                    if (withUnigrams) {
+                        tokens.add(new Token(String.valueOf(text.charAt(j)), j, j + 1));
+                    }
+                    tokens.add(new Token(text.substring(j, j + 2), j, j + 2));
+                }
+                if (withUnigrams && end - i > 1) {
+                    tokens.add(new Token(String.valueOf(text.charAt(end - 1)), end - 1, end));
+                }
+                i = end;
+            } else if (Character.isLetterOrDigit(c)) {
+                int end = i;
+                while (end < length && Character.isLetterOrDigit(text.charAt(end)) && !isCjk(text.charAt(end))) {
+                    end++;
+                }
+                tokens.add(new Token(text.substring(i, end).toLowerCase(), i, end));
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Token {
+
+        private final String term;
+
+        private final int start;
+
+        private final int end;
+
+    }
+
+}
@@ -0,0 +1,17 @@
+-- KEYS[1] 文章缓存版本号，KEYS[2] 要写入的缓存 key，KEYS[3] 可选，已缓存文章的索引集合
+-- ARGV 由 RedisTemplate 序列化为 JSON：ARGV[1] 开始加载时读取的版本号，ARGV[2] 缓存内容，
+-- ARGV[3] 过期时间（秒），不大于 0 时不过期，ARGV[4] 可选，写入索引的成员
+-- 加载期间缓存被清空过（版本号已变化）时放弃写入，返回 0
+local current = redis.call('GET', KEYS[1]) or '0'
+if current ~= ARGV[1] then
+    return 0
+end
+if tonumber(ARGV[3]) > 0 then
+    redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3])
+else
+    redis.call('SET', KEYS[2], ARGV[2])
+end
+if KEYS[3] then
+    redis.call('SADD', KEYS[3], ARGV[4])
+end
+return 1
@@ -0,0 +1,10 @@
+-- KEYS[1] 会话 key，KEYS[2] 会话过期时间索引（score 为过期时间戳，毫秒）
+-- ARGV[1] 用户id，ARGV[2] 当前时间戳（毫秒），ARGV[3] 续期阈值（毫秒），ARGV[4] 会话有效期（秒）
+-- 剩余有效期不低于阈值时不续期，多个节点同时判断只会续期一次；返回 {是否续期, 过期时间戳}，会话不存在时过期时间戳为 0
+local now = tonumber(ARGV[2])
+local expireAt = tonumber(redis.call('ZSCORE', KEYS[2], ARGV[1]))
+if expireAt and expireAt - now >= tonumber(ARGV[3]) then return {0, expireAt} end
+if redis.call('EXPIRE', KEYS[1], ARGV[4]) == 0 then return {0, 0} end
+expireAt = now + tonumber(ARGV[4]) * 1000
+redis.call('ZADD', KEYS[2], expireAt, ARGV[1])
+return {1, expireAt}
@@ -0,0 +1,10 @@
+-- KEYS[1] 当日访客 HyperLogLog，KEYS[2] 访客地区分布，KEYS[3] 总访问量
+-- ARGV 由 RedisTemplate 序列化为 JSON：ARGV[1] 访客标识，ARGV[2] 访客所在省份，ARGV[3] 当日访客的过期时间（秒）
+-- 以 PFADD 是否改变寄存器判断新访客，访问量与地区分布随之为近似值；返回 1 表示计入
+if redis.call('PFADD', KEYS[1], ARGV[1]) == 0 then
+    return 0
+end
+redis.call('EXPIRE', KEYS[1], ARGV[3])
+redis.call('HINCRBY', KEYS[2], cjson.decode(ARGV[2]), 1)
+redis.call('INCRBY', KEYS[3], 1)
+return 1
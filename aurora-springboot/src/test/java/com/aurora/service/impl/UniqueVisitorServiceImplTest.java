@@ -0,0 +1,108 @@
+package com.aurora.service.impl;
+
+import com.aurora.config.RedisConfig;
+import com.aurora.service.HomeInfoSnapshotService;
+import com.aurora.service.RedisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.aurora.constant.RedisConstant.BLOG_VIEWS_COUNT;
+import static com.aurora.constant.RedisConstant.VISITOR_AREA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 同一访客并发的首次访问只能计一次独立访客、一次访问量和一次地区分布
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UniqueVisitorServiceImplTest {
+
+    private static final int CONCURRENT_REQUESTS = 64;
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:6-alpine"))
+            .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private RedisService redisService;
+
+    private HomeInfoSnapshotService homeInfoSnapshotService;
+
+    private UniqueVisitorServiceImpl uniqueVisitorService;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getFirstMappedPort());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.getConnection().flushAll();
+        RedisConfig redisConfig = new RedisConfig();
+        redisService = new RedisServiceImpl();
+        ReflectionTestUtils.setField(redisService, "redisTemplate", redisConfig.redisTemplate(connectionFactory));
+        ReflectionTestUtils.setField(redisService, "compactRedisTemplate", redisConfig.compactRedisTemplate(connectionFactory));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Real-IP", "114.114.114.114");
+        request.addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/96.0.4664.110 Safari/537.36");
+        homeInfoSnapshotService = Mockito.mock(HomeInfoSnapshotService.class);
+        uniqueVisitorService = new UniqueVisitorServiceImpl();
+        ReflectionTestUtils.setField(uniqueVisitorService, "redisService", redisService);
+        ReflectionTestUtils.setField(uniqueVisitorService, "homeInfoSnapshotService", homeInfoSnapshotService);
+        ReflectionTestUtils.setField(uniqueVisitorService, "request", request);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void concurrentFirstRequestsOfOneVisitorAreCountedOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    uniqueVisitorService.report();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(uniqueVisitorService.countDailyVisitors(LocalDate.now())).isEqualTo(1L);
+        assertThat(Integer.parseInt(redisService.get(BLOG_VIEWS_COUNT).toString())).isEqualTo(1);
+        // 地区取决于 ip2region 数据文件，只校验访客被计入唯一的地区且计数为 1
+        Map<String, Object> areas = redisService.hGetAll(VISITOR_AREA);
+        assertThat(areas).hasSize(1);
+        assertThat(Integer.parseInt(areas.values().iterator().next().toString())).isEqualTo(1);
+        verify(homeInfoSnapshotService, times(1)).incrViewCount(1);
+    }
+
+}
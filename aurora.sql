@@ -38,9 +38,39 @@ CREATE TABLE `t_article`  (
   `original_url` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '原文链接',
   `create_time` datetime NOT NULL COMMENT '发表时间',
   `update_time` datetime NULL DEFAULT NULL COMMENT '更新时间',
-  PRIMARY KEY (`id`) USING BTREE
+  PRIMARY KEY (`id`) USING BTREE,
+  INDEX `idx_create_time`(`create_time` ASC) USING BTREE,
+  FULLTEXT INDEX `ft_title_content`(`article_title`, `article_content`) WITH PARSER `ngram`
 ) ENGINE = InnoDB AUTO_INCREMENT = 135 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci ROW_FORMAT = DYNAMIC;
 
+-- ----------------------------
+-- Table structure for t_article_card
+-- ----------------------------
+DROP TABLE IF EXISTS `t_article_card`;
+CREATE TABLE `t_article_card`  (
+  `id` int NOT NULL COMMENT '文章id',
+  `user_id` int NOT NULL COMMENT '作者',
+  `category_id` int NULL DEFAULT NULL COMMENT '文章分类',
+  `article_cover` varchar(1024) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '文章缩略图',
+  `article_title` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '标题',
+  `article_excerpt` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '内容摘要',
+  `is_top` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否置顶 0否 1是',
+  `is_featured` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否推荐 0否 1是',
+  `is_delete` tinyint(1) NOT NULL DEFAULT 0 COMMENT '是否删除  0否 1是',
+  `status` tinyint(1) NOT NULL DEFAULT 1 COMMENT '状态值 1公开 2私密 3草稿',
+  `category_name` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '分类名',
+  `author_nickname` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '作者昵称',
+  `author_website` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '作者网站',
+  `author_avatar` varchar(1024) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '作者头像',
+  `tag_names` json NULL COMMENT '标签名列表',
+  `create_time` datetime NOT NULL COMMENT '发表时间',
+  `update_time` datetime NULL DEFAULT NULL COMMENT '更新时间',
+  PRIMARY KEY (`id`) USING BTREE,
+  INDEX `idx_category_id`(`category_id` ASC) USING BTREE,
+  INDEX `idx_create_time`(`create_time` ASC) USING BTREE,
+  INDEX `idx_top_featured`(`is_delete` ASC, `is_top` ASC, `is_featured` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '文章卡片投影表' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for t_article_tag
 -- ----------------------------
@@ -51,7 +81,7 @@ CREATE TABLE `t_article_tag`  (
   `tag_id` int NOT NULL COMMENT '标签id',
   PRIMARY KEY (`id`) USING BTREE,
   INDEX `fk_article_tag_1`(`article_id` ASC) USING BTREE,
-  INDEX `fk_article_tag_2`(`tag_id` ASC) USING BTREE
+  INDEX `fk_article_tag_2`(`tag_id` ASC, `article_id` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 85 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
@@ -120,7 +150,7 @@ CREATE TABLE `t_job`  (
   `update_time` datetime NULL DEFAULT NULL COMMENT '更新时间',
   `remark` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci NULL DEFAULT '' COMMENT '备注信息',
   PRIMARY KEY (`id`, `job_name`, `job_group`) USING BTREE
-) ENGINE = InnoDB AUTO_INCREMENT = 86 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_general_ci COMMENT = '定时任务调度表' ROW_FORMAT = DYNAMIC;
+) ENGINE = InnoDB AUTO_INCREMENT = 87 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_general_ci COMMENT = '定时任务调度表' ROW_FORMAT = DYNAMIC;
 
 -- ----------------------------
 -- Records of t_job
@@ -130,6 +160,7 @@ INSERT INTO `t_job` VALUES (82, '统计访问量', '默认', 'auroraQuartz.saveU
 INSERT INTO `t_job` VALUES (83, '清空redis访客记录', '默认', 'auroraQuartz.clear', '0 0 1 * * ?', 3, 1, 1, '2022-08-12 16:36:30', '2022-08-13 08:47:48', '清空redis访客记录');
 INSERT INTO `t_job` VALUES (84, '百度SEO', '默认', 'auroraQuartz.baiduSeo', '0 0/10 * * * ?', 3, 1, 1, '2022-08-13 21:19:08', '2022-08-19 14:13:52', '百度SEO');
 INSERT INTO `t_job` VALUES (85, '清理定时任务日志', '默认', 'auroraQuartz.clearJobLogs', '0 0 0 * * ?', 3, 1, 1, '2022-08-13 21:26:21', NULL, '清理定时任务日志');
+INSERT INTO `t_job` VALUES (86, '重建文章卡片', '默认', 'auroraQuartz.rebuildArticleCards', '0 30 1 * * ?', 3, 1, 1, '2022-08-13 21:26:21', NULL, '根据文章表重建文章卡片投影表');
 
 -- ----------------------------
 -- Table structure for t_job_log
@@ -419,6 +450,8 @@ INSERT INTO `t_resource` VALUES (1185, '修改用户的订阅状态', '/users/su
 INSERT INTO `t_resource` VALUES (1186, '异常日志模块', NULL, NULL, NULL, 0, '2022-08-25 15:13:40', NULL);
 INSERT INTO `t_resource` VALUES (1187, '获取异常日志', '/admin/exception/logs', 'GET', 1186, 0, '2022-08-25 15:14:27', NULL);
 INSERT INTO `t_resource` VALUES (1188, '删除异常日志', '/admin/exception/logs', 'DELETE', 1186, 0, '2022-08-25 15:14:59', NULL);
+INSERT INTO `t_resource` VALUES (1189, '获取单月文章归档', '/archives/*', 'GET', 1057, 1, '2022-08-25 15:15:30', NULL);
+INSERT INTO `t_resource` VALUES (1190, '获取搜索缓存统计', '/admin/search/cache', 'GET', 1057, 0, '2022-08-25 15:16:00', NULL);
 
 -- ----------------------------
 -- Table structure for t_role
@@ -678,6 +711,8 @@ INSERT INTO `t_role_resource` VALUES (5543, 14, 1134);
 INSERT INTO `t_role_resource` VALUES (5544, 14, 1122);
 INSERT INTO `t_role_resource` VALUES (5545, 14, 1127);
 INSERT INTO `t_role_resource` VALUES (5546, 14, 1187);
+INSERT INTO `t_role_resource` VALUES (5547, 1, 1190);
+INSERT INTO `t_role_resource` VALUES (5548, 14, 1190);
 
 -- ----------------------------
 -- Table structure for t_tag